@@ -1,6 +1,7 @@
 package com.libentity.example.config;
 
 import com.libentity.core.action.ActionExecutor;
+import com.libentity.core.action.Slf4jActionTracer;
 import com.libentity.core.action.SyncActionExecutor;
 import com.libentity.core.entity.EntityType;
 import com.libentity.example.invoice.command.ApproveInvoiceCommand;
@@ -176,6 +177,7 @@ public class InvoiceEntityTypeConfig {
             @Qualifier("invoiceEntityType") EntityType<InvoiceState, InvoiceRequestContext> invoiceEntityType) {
         return SyncActionExecutor.<InvoiceState, InvoiceRequestContext>builder()
                 .entityType(invoiceEntityType)
+                .tracer(new Slf4jActionTracer<>())
                 .build();
     }
 }
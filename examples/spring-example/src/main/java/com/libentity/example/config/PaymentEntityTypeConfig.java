@@ -3,6 +3,7 @@ package com.libentity.example.config;
 import com.libentity.annotation.processor.EntityAnnotationProcessor;
 import com.libentity.annotation.processor.EntityTypeRegistry;
 import com.libentity.core.action.ActionExecutor;
+import com.libentity.core.action.Slf4jActionTracer;
 import com.libentity.core.action.SyncActionExecutor;
 import com.libentity.core.entity.EntityType;
 import com.libentity.example.payment.model.PaymentRequestContext;
@@ -40,6 +41,7 @@ public class PaymentEntityTypeConfig {
         return SyncActionExecutor.<PaymentState, PaymentRequestContext>builder()
                 .entityType(paymentEntityType)
                 .commandToActionResolver(registry.getCommandToActionNameResolver())
+                .tracer(new Slf4jActionTracer<>())
                 .build();
     }
 }
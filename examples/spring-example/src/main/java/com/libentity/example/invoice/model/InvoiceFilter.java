@@ -1,9 +1,11 @@
 package com.libentity.example.invoice.model;
 
 import com.libentity.core.filter.RangeFilter;
+import com.libentity.jooqsupport.SortRequest;
 import com.libentity.jooqsupport.annotation.*;
 import java.math.BigDecimal;
 import java.time.chrono.ChronoLocalDate;
+import java.util.List;
 import java.util.Set;
 import lombok.Data;
 
@@ -11,7 +13,9 @@ import lombok.Data;
 @JooqFilter(
         tableClass = "org.jooq.generated.tables.Invoice",
         tableVar = "INVOICE",
-        defaultSort = @JooqDefaultSort(field = "dueDate", direction = SortDirection.DESC))
+        uniqueKey = "id",
+        defaultSort = @JooqDefaultSort(field = "dueDate", direction = SortDirection.DESC),
+        sortable = {@JooqSortable(field = "dueDate"), @JooqSortable(field = "amount"), @JooqSortable(field = "id")})
 public class InvoiceFilter {
     @JooqFilterField(
             field = "AMOUNT",
@@ -44,10 +48,11 @@ public class InvoiceFilter {
             comparators = {Comparator.EQ})
     private Boolean submittedByMe;
 
-    // Pagination and sorting fields (optional, for future extension)
+    // Pagination: cursor (keyset) pagination takes precedence over offset
     private Integer limit;
     private Integer offset;
     private String cursor;
-    // Sorting would be handled via generated metadata
+    // Requested sorts, restricted to the sortable fields above
+    private List<SortRequest> sort;
 }
 // Touch for annotation processing
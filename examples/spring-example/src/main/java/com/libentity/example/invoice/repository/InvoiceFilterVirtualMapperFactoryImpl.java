@@ -10,7 +10,8 @@ import java.util.List;
 
 /**
  * Virtual mapper factory for InvoiceFilter. This is responsible for a virtual
- * condition mapper that can be used to filter invoices by the user ID.
+ * condition mapper that can be used to filter invoices by the user ID. Without a
+ * user ID, filtering by submittedByMe is rejected.
  */
 public class InvoiceFilterVirtualMapperFactoryImpl implements InvoiceFilterJooqMetaVirtualMapperFactory {
     private final String userId;
@@ -22,7 +23,12 @@ public class InvoiceFilterVirtualMapperFactoryImpl implements InvoiceFilterJooqM
     @Override
     public VirtualConditionMapper<InvoiceFilter> getSubmittedByMeMapper(List<Comparator> comparators) {
         if (comparators.contains(Comparator.EQ)) {
-            return f -> INVOICE.EMPLOYEE_ID.eq(userId);
+            return f -> {
+                if (userId == null) {
+                    throw new IllegalArgumentException("submittedByMe requires a signed-in user");
+                }
+                return INVOICE.EMPLOYEE_ID.eq(userId);
+            };
         }
         return f -> null;
     }
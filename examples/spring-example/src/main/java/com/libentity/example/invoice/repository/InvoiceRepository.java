@@ -9,8 +9,10 @@ import com.libentity.example.invoice.model.InvoiceFilter;
 import com.libentity.example.invoice.model.InvoiceFilterJooqMeta;
 import com.libentity.example.invoice.model.InvoiceFilterJooqMeta.InvoiceFilterJooqMetaVirtualMapperFactory;
 import com.libentity.example.invoice.model.InvoiceState;
+import com.libentity.jooqsupport.SeekCursor;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import org.jooq.DSLContext;
 import org.jooq.SortField;
@@ -20,6 +22,9 @@ import org.springframework.stereotype.Repository;
 @Repository
 @RequiredArgsConstructor
 public class InvoiceRepository implements EntityStore<Invoice, Long>, FilterStore<Invoice, InvoiceFilter> {
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
     private final DSLContext dsl;
 
     /**
@@ -70,10 +75,20 @@ public class InvoiceRepository implements EntityStore<Invoice, Long>, FilterStor
      */
     public List<Invoice> findByFilter(InvoiceFilter filter, String userId) {
         InvoiceFilterJooqMetaVirtualMapperFactory factory = new InvoiceFilterVirtualMapperFactoryImpl(userId);
-        var condition = InvoiceFilterJooqMeta.toCondition(filter, factory);
+        var condition = InvoiceFilterJooqMeta.toCachedCondition(dsl, filter, factory);
         var sortFields = InvoiceFilterJooqMeta.getSortFields(filter);
         Integer limit = filter.getLimit();
         Integer offset = filter.getOffset();
+        if (filter.getCursor() != null) {
+            // Keyset pagination: cost does not grow with page depth, unlike offset. Rejects a conflicting sort.
+            return InvoiceFilterJooqMeta.seek(
+                            dsl.selectFrom(INVOICE).where(condition),
+                            filter,
+                            filter.getCursor(),
+                            limit != null ? limit : DEFAULT_PAGE_SIZE)
+                    .fetch()
+                    .map(this::toInvoice);
+        }
         var select = dsl.selectFrom(INVOICE).where(condition).orderBy(sortFields.toArray(new SortField[0]));
         if (limit != null && offset != null) {
             return select.limit(limit).offset(offset).fetch().map(this::toInvoice);
@@ -86,6 +101,41 @@ public class InvoiceRepository implements EntityStore<Invoice, Long>, FilterStor
         }
     }
 
+    @Override
+    public Stream<Invoice> stream(InvoiceFilter filter) {
+        return stream(filter, null);
+    }
+
+    /**
+     * Streams invoices by filter, reading {@value #STREAM_FETCH_SIZE} rows per round trip. Call it inside a
+     * transaction, PostgreSQL only uses a cursor when auto-commit is off, and close the stream when done.
+     *
+     * @param filter the filter to apply
+     * @param userId the user ID to filter by
+     * @return the invoices that match the filter
+     */
+    public Stream<Invoice> stream(InvoiceFilter filter, String userId) {
+        InvoiceFilterJooqMetaVirtualMapperFactory factory = new InvoiceFilterVirtualMapperFactoryImpl(userId);
+        var condition = InvoiceFilterJooqMeta.toCachedCondition(dsl, filter, factory);
+        var sortFields = InvoiceFilterJooqMeta.getSortFields(filter);
+        return dsl.selectFrom(INVOICE)
+                .where(condition)
+                .orderBy(sortFields.toArray(new SortField[0]))
+                .fetchSize(STREAM_FETCH_SIZE)
+                .fetchStream()
+                .map(this::toInvoice);
+    }
+
+    /**
+     * Returns the cursor to pass as {@link InvoiceFilter#getCursor()} to fetch the page after the given invoice.
+     *
+     * @param lastInvoice the last invoice of the current page
+     * @return an opaque cursor token
+     */
+    public String nextCursor(Invoice lastInvoice) {
+        return SeekCursor.of(lastInvoice.getDueDate(), lastInvoice.getId()).encode();
+    }
+
     private Invoice toInvoice(InvoiceRecord record) {
         Invoice invoice = new Invoice();
         invoice.setId(record.getId());
@@ -3,6 +3,7 @@ package com.libentity.example.invoice.service;
 import com.libentity.core.action.ActionCommand;
 import com.libentity.core.action.ActionExecutor;
 import com.libentity.core.action.ActionResult;
+import com.libentity.core.action.StateRequest;
 import com.libentity.core.validation.ValidationContext;
 import com.libentity.example.invoice.command.CreateInvoiceCommand;
 import com.libentity.example.invoice.model.Invoice;
@@ -11,8 +12,8 @@ import com.libentity.example.invoice.model.InvoiceRequestContext;
 import com.libentity.example.invoice.model.InvoiceState;
 import com.libentity.example.invoice.repository.InvoiceRepository;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
@@ -41,17 +42,20 @@ public class InvoiceService {
     }
 
     public List<InvoiceWithRateResponse> findByFilter(InvoiceFilter filter) {
-        return invoiceRepository.findByFilter(filter).stream()
-                .map(invoice -> {
-                    InvoiceWithRateResponse response = new InvoiceWithRateResponse();
-                    response.setInvoice(invoice);
-                    response.setExchangeRate(BigDecimal.valueOf(1.23)); // Example rate
-                    // Set allowed actions for each invoice
-                    response.setAllowedActions(actionExecutor.getAllowedActions(
-                            invoice.getState(), new InvoiceRequestContext(invoice, invoice)));
-                    return response;
-                })
-                .collect(Collectors.toList());
+        List<Invoice> invoices = invoiceRepository.findByFilter(filter);
+        // Allowed actions of all invoices in one call, evaluated per state rather than per row
+        List<List<String>> allowedActions = actionExecutor.getAllowedActions(invoices.stream()
+                .map(invoice -> new StateRequest<>(invoice.getState(), new InvoiceRequestContext(invoice, invoice)))
+                .toList());
+        List<InvoiceWithRateResponse> responses = new ArrayList<>(invoices.size());
+        for (int i = 0; i < invoices.size(); i++) {
+            InvoiceWithRateResponse response = new InvoiceWithRateResponse();
+            response.setInvoice(invoices.get(i));
+            response.setExchangeRate(BigDecimal.valueOf(1.23)); // Example rate
+            response.setAllowedActions(allowedActions.get(i));
+            responses.add(response);
+        }
+        return responses;
     }
 
     public InvoiceWithRateResponse createInvoice(CreateInvoiceCommand command) {
@@ -11,7 +11,7 @@ import java.lang.annotation.*;
  *   <li><b>stateEnum</b>: Enum class for possible states.</li>
  *   <li><b>fields</b>: Array of @Field definitions.</li>
  *   <li><b>actions</b>: (Optional) Array of @Action definitions.</li>
- *   <li><b>inStateValidators</b>: (Optional) Classes for in-state validation.</li>
+ *   <li><b>inStateValidators</b>: (Optional) Classes for in-state validation, run in every state.</li>
  *   <li><b>transitionValidators</b>: (Optional) Classes for transition validation.</li>
  * </ul>
  * Example:
@@ -10,7 +10,7 @@ import java.lang.annotation.*;
  *   <li><b>name</b>: Field name (required).</li>
  *   <li><b>type</b>: Field type (required).</li>
  *   <li><b>required</b>: Whether the field is required (default: false).</li>
- *   <li><b>inStateValidators</b>: (Optional) Array of in-state validator classes for this field.</li>
+ *   <li><b>inStateValidators</b>: (Optional) Array of in-state validator classes for this field, run in every state.</li>
  *   <li><b>transitionValidators</b>: (Optional) Array of transition validator classes for this field.</li>
  * </ul>
  * Example:
@@ -1,21 +1,81 @@
 package com.libentity.annotation.processor;
 
 import com.libentity.annotation.*;
+import com.libentity.core.action.ActionAvailabilityPredicate;
 import com.libentity.core.action.ActionDefinition;
+import com.libentity.core.action.ActionHandler;
 import com.libentity.core.entity.EntityType;
 import com.libentity.core.entity.FieldDefinition;
+import com.libentity.core.entity.InStateValidationEntry;
 import com.libentity.core.entity.InStateValidator;
 import com.libentity.core.entity.StateTransitionValidationEntry;
+import com.libentity.core.entity.StateTransitionValidator;
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ScanResult;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class EntityAnnotationProcessor {
 
-    public record Options(InstanceFactory instanceFactory) {}
+    /**
+     * Processor options.
+     *
+     * @param instanceFactory creates handler and validator instances
+     * @param instanceScope how long the created instances are kept
+     * @param discovery how entity classes are found
+     */
+    public record Options(InstanceFactory instanceFactory, InstanceScope instanceScope, Discovery discovery) {
+        public Options {
+            Objects.requireNonNull(instanceFactory, "instanceFactory");
+            Objects.requireNonNull(instanceScope, "instanceScope");
+            Objects.requireNonNull(discovery, "discovery");
+        }
+
+        /** Options with the given factory and scope, discovering entities through the index. */
+        public Options(InstanceFactory instanceFactory, InstanceScope instanceScope) {
+            this(instanceFactory, instanceScope, Discovery.INDEX);
+        }
+
+        /** Options with the given factory, asking it for an instance on every call ({@link InstanceScope#PER_CALL}). */
+        public Options(InstanceFactory instanceFactory) {
+            this(instanceFactory, InstanceScope.PER_CALL);
+        }
+    }
+
+    /** How {@link #buildEntityTypes(String...)} finds the {@code @EntityDefinition} classes. */
+    public enum Discovery {
+        /**
+         * Read the index written by {@link EntityDefinitionAnnotationProcessor} at compile time. Requested packages in
+         * which the index lists no entity, for example packages from jars compiled without the processor, are still
+         * scanned, with a warning. Entities with a generated {@link EntityTypeProvider} are created by it, without
+         * reflection.
+         *
+         * <p>An entity compiled without the processor into a package that also holds indexed entities is not found;
+         * use {@link #SCAN} when the class path mixes both in one package.
+         */
+        INDEX,
+        /** Always scan the class path and bind annotated methods at runtime. */
+        SCAN
+    }
+
+    /** Lifecycle of the handler and validator instances obtained from the {@link InstanceFactory}. */
+    public enum InstanceScope {
+        /**
+         * One instance per class, obtained while entity types are built and bound once. Actions and validators then
+         * run without any lookup or allocation. Opt in only when every handler and validator is stateless and the
+         * factory would return the same instance anyway.
+         */
+        SINGLETON,
+        /**
+         * The factory is asked for an instance on every execution, availability check and validation. This is the
+         * default, so prototype- and request-scoped instances from a container keep their lifecycle.
+         */
+        PER_CALL
+    }
 
     @FunctionalInterface
     public interface InstanceFactory {
@@ -23,6 +83,9 @@ public class EntityAnnotationProcessor {
     }
 
     private final InstanceFactory instanceFactory;
+    private final InstanceScope instanceScope;
+    private final Discovery discovery;
+    private final Map<Class<?>, Object> singletons = new ConcurrentHashMap<>();
 
     public EntityAnnotationProcessor() {
         this(new Options(new DefaultInstanceFactory()));
@@ -30,9 +93,12 @@ public class EntityAnnotationProcessor {
 
     public EntityAnnotationProcessor(Options options) {
         this.instanceFactory = options.instanceFactory;
+        this.instanceScope = options.instanceScope;
+        this.discovery = options.discovery;
         log.debug(
-                "EntityAnnotationProcessor constructed with InstanceFactory: {}",
-                instanceFactory.getClass().getName());
+                "EntityAnnotationProcessor constructed with InstanceFactory: {} ({} scope)",
+                instanceFactory.getClass().getName(),
+                instanceScope);
         if (instanceFactory instanceof DefaultInstanceFactory) {
             log.debug("Using DefaultInstanceFactory (reflection-based instantiation)");
         } else {
@@ -94,184 +160,235 @@ public class EntityAnnotationProcessor {
         return validateMethod;
     }
 
-    public EntityTypeRegistry buildEntityTypes(String... basePackages) {
-        Map<String, EntityType> entityTypes = new HashMap<>();
-        Map<Class<?>, String> commandToActionName = new HashMap<>();
+    // Instantiate an in-state validator class and bind its 'validate' method to the core interface
+    private InStateValidator<Object, Object> bindInStateValidator(
+            Class<?> validatorClass, Class<? extends Enum<?>> stateEnum, String kind) {
+        try {
+            Method validateMethod = findInStateValidatorMethod(
+                    validatorClass, stateEnum, com.libentity.core.validation.ValidationContext.class);
+            Function<Object, InStateValidator<Object, Object>> binder = binder(InStateValidator.class, validateMethod);
+            if (instanceScope == InstanceScope.SINGLETON) {
+                return binder.apply(singleton(validatorClass));
+            }
+            return (state, request, ctx) ->
+                    binder.apply(instanceFactory.getInstance(validatorClass)).validate(state, request, ctx);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to instantiate " + kind + ": " + validatorClass, e);
+        }
+    }
+
+    // Instantiate a transition validator class and bind its 'validate' method to the core interface
+    private StateTransitionValidator<Object, Object> bindTransitionValidator(
+            Class<?> validatorClass, Class<? extends Enum<?>> stateEnum, String kind) {
+        try {
+            Method validateMethod = findTransitionValidatorMethod(
+                    validatorClass, stateEnum, com.libentity.core.validation.ValidationContext.class);
+            Function<Object, StateTransitionValidator<Object, Object>> binder =
+                    binder(StateTransitionValidator.class, validateMethod);
+            if (instanceScope == InstanceScope.SINGLETON) {
+                return binder.apply(singleton(validatorClass));
+            }
+            return (from, to, request, ctx) ->
+                    binder.apply(instanceFactory.getInstance(validatorClass)).validate(from, to, request, ctx);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to instantiate " + kind + ": " + validatorClass, e);
+        }
+    }
+
+    // Core interfaces are bound with Object state, request and command types, since annotations are not generic
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Function<Object, T> binder(Class rawInterface, Method method) {
+        return (Function<Object, T>) MethodBinder.binder(rawInterface, method);
+    }
+
+    // Generated providers share the singletons of reflectively built entities
+    private InstanceFactory scopedInstanceFactory() {
+        if (instanceScope != InstanceScope.SINGLETON) {
+            return instanceFactory;
+        }
+        return new InstanceFactory() {
+            @Override
+            public <T> T getInstance(Class<T> clazz) {
+                return clazz.cast(singleton(clazz));
+            }
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object stateValue(Class<? extends Enum<?>> stateEnum, String stateName, String actionName) {
+        try {
+            return Enum.valueOf((Class) stateEnum, stateName);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(
+                    "Unknown state '" + stateName + "' in allowedStates of action '" + actionName + "'", e);
+        }
+    }
+
+    // Singleton scoped instances are shared by every action and validator of the same class
+    private Object singleton(Class<?> clazz) {
+        return singletons.computeIfAbsent(clazz, instanceFactory::getInstance);
+    }
+
+    // Prefer the compile-time index, scanning the requested packages it lists no entity in
+    private List<Class<?>> findEntityClasses(ClassLoader classLoader, String... basePackages) {
+        if (discovery == Discovery.SCAN) {
+            return scan(basePackages);
+        }
+        Optional<List<String>> indexed = EntityIndex.read(classLoader, basePackages);
+        if (indexed.isEmpty() || indexed.get().isEmpty()) {
+            log.debug("No entity index found for packages {}, scanning the class path", Arrays.toString(basePackages));
+            return scan(basePackages);
+        }
+        log.debug("Loading entities from {}", EntityIndex.RESOURCE);
+        List<Class<?>> entityClasses = new ArrayList<>();
+        for (String className : indexed.get()) {
+            try {
+                entityClasses.add(Class.forName(className, false, classLoader));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Indexed entity class not found: " + className, e);
+            }
+        }
+        String[] uncovered = Arrays.stream(basePackages)
+                .filter(pkg -> indexed.get().stream().noneMatch(className -> EntityIndex.inPackages(className, pkg)))
+                .toArray(String[]::new);
+        if (uncovered.length > 0) {
+            log.warn(
+                    "{} lists no entity in packages {}, scanning them. Compile them with the annotation processor"
+                            + " to skip the scan",
+                    EntityIndex.RESOURCE,
+                    Arrays.toString(uncovered));
+            for (Class<?> entityClass : scan(uncovered)) {
+                if (!entityClasses.contains(entityClass)) {
+                    entityClasses.add(entityClass);
+                }
+            }
+        }
+        return entityClasses;
+    }
+
+    private static List<Class<?>> scan(String... basePackages) {
         log.debug("Starting entity type scan for packages: {}", Arrays.toString(basePackages));
         try (ScanResult scanResult =
                 new ClassGraph().enableAllInfo().acceptPackages(basePackages).scan()) {
-            List<Class<?>> entityClasses = scanResult
+            return scanResult
                     .getClassesWithAnnotation(EntityDefinition.class.getName())
                     .loadClasses();
-            log.debug("Found {} entities: {}", entityClasses.size(), entityClasses);
-            for (Class<?> entityClass : entityClasses) {
-                EntityDefinition entityAnn = entityClass.getAnnotation(EntityDefinition.class);
-                String entityName = entityAnn.name();
-                log.debug("Processing entity: {} (class: {})", entityName, entityClass.getName());
-                Class<? extends Enum<?>> stateEnum = entityAnn.stateEnum();
-                Map<String, FieldDefinition> fields = new HashMap<>();
-                for (Field fieldAnn : entityAnn.fields()) {
-                    // FIELD-LEVEL IN-STATE VALIDATORS
-                    List<InStateValidator> fieldInStateValidators = new ArrayList<>();
-                    for (Class<?> validatorClass : fieldAnn.inStateValidators()) {
-                        try {
-                            Object validatorInstance = instanceFactory.getInstance(validatorClass);
-                            Method validateMethod = findInStateValidatorMethod(
-                                    validatorClass, stateEnum, com.libentity.core.validation.ValidationContext.class);
-                            fieldInStateValidators.add((state, request, ctx) -> {
-                                try {
-                                    validateMethod.setAccessible(true);
-                                    validateMethod.invoke(validatorInstance, state, request, ctx);
-                                } catch (Exception e) {
-                                    throw new RuntimeException(e);
-                                }
-                            });
-                        } catch (Exception e) {
-                            throw new RuntimeException(
-                                    "Failed to instantiate field in-state validator: " + validatorClass, e);
-                        }
-                    }
+        }
+    }
 
-                    // FIELD-LEVEL TRANSITION VALIDATORS
-                    List<StateTransitionValidationEntry> fieldTransitionValidators = new ArrayList<>();
-                    for (Class<?> validatorClass : fieldAnn.transitionValidators()) {
-                        try {
-                            Object validatorInstance = instanceFactory.getInstance(validatorClass);
-                            Method validateMethod = findTransitionValidatorMethod(
-                                    validatorClass, stateEnum, com.libentity.core.validation.ValidationContext.class);
-                            fieldTransitionValidators.add(
-                                    new StateTransitionValidationEntry(null, null, (from, to, request, ctx) -> {
-                                        try {
-                                            validateMethod.setAccessible(true);
-                                            validateMethod.invoke(validatorInstance, from, to, request, ctx);
-                                        } catch (Exception e) {
-                                            throw new RuntimeException(e);
-                                        }
-                                    }));
-                        } catch (Exception e) {
-                            throw new RuntimeException(
-                                    "Failed to instantiate field transition validator: " + validatorClass, e);
-                        }
-                    }
+    public EntityTypeRegistry buildEntityTypes(String... basePackages) {
+        Map<String, EntityType> entityTypes = new HashMap<>();
+        Map<Class<?>, String> commandToActionName = new HashMap<>();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = EntityAnnotationProcessor.class.getClassLoader();
+        }
+        List<Class<?>> entityClasses = findEntityClasses(classLoader, basePackages);
+        log.debug("Found {} entities: {}", entityClasses.size(), entityClasses);
+        Map<Class<?>, EntityTypeProvider> providers = new HashMap<>();
+        if (discovery == Discovery.INDEX) {
+            ServiceLoader.load(EntityTypeProvider.class, classLoader)
+                    .forEach(provider -> providers.put(provider.entityClass(), provider));
+        }
+        for (Class<?> entityClass : entityClasses) {
+            EntityTypeProvider provider = providers.get(entityClass);
+            if (provider != null) {
+                log.debug(
+                        "Creating entity: {} from generated {}",
+                        provider.entityName(),
+                        provider.getClass().getName());
+                entityTypes.put(provider.entityName(), provider.create(scopedInstanceFactory(), instanceScope));
+                commandToActionName.putAll(provider.commandToActionName());
+                continue;
+            }
+            EntityDefinition entityAnn = entityClass.getAnnotation(EntityDefinition.class);
+            String entityName = entityAnn.name();
+            log.debug("Processing entity: {} (class: {})", entityName, entityClass.getName());
+            Class<? extends Enum<?>> stateEnum = entityAnn.stateEnum();
+            Map<String, FieldDefinition<?, Object, Object>> fields = new HashMap<>();
+            for (Field fieldAnn : entityAnn.fields()) {
+                // FIELD-LEVEL IN-STATE VALIDATORS
+                List<InStateValidationEntry<Object, Object>> fieldInStateValidators = new ArrayList<>();
+                for (Class<?> validatorClass : fieldAnn.inStateValidators()) {
+                    fieldInStateValidators.add(InStateValidationEntry.anyState(
+                            bindInStateValidator(validatorClass, stateEnum, "field in-state validator")));
+                }
 
-                    fields.put(
-                            fieldAnn.name(),
-                            new FieldDefinition(
-                                    fieldAnn.name(),
-                                    fieldAnn.type(),
-                                    fieldInStateValidators,
-                                    fieldTransitionValidators));
+                // FIELD-LEVEL TRANSITION VALIDATORS
+                List<StateTransitionValidationEntry<Object, Object>> fieldTransitionValidators = new ArrayList<>();
+                for (Class<?> validatorClass : fieldAnn.transitionValidators()) {
+                    fieldTransitionValidators.add(new StateTransitionValidationEntry<>(
+                            null,
+                            null,
+                            bindTransitionValidator(validatorClass, stateEnum, "field transition validator")));
                 }
-                Map<String, ActionDefinition> actions = new HashMap<>();
-                log.debug("Entity '{}' has {} actions", entityName, entityAnn.actions().length);
-                for (Action actionAnn : entityAnn.actions()) {
-                    Set<String> allowedStates = new HashSet<>(Arrays.asList(actionAnn.allowedStates()));
-                    Class<?> handlerClass = actionAnn.handler();
-                    // Map command class to action name
-                    commandToActionName.put(actionAnn.command(), actionAnn.name());
-                    log.debug(
-                            "  Found action: '{}' (handler: {}, command: {})",
-                            actionAnn.name(),
-                            handlerClass.getName(),
-                            actionAnn.command().getName());
-                    Method onlyIfMethod = null;
-                    for (Method m : handlerClass.getDeclaredMethods()) {
-                        if (m.isAnnotationPresent(com.libentity.annotation.OnlyIf.class)) {
-                            if (m.getParameterCount() != 3) {
-                                throw new IllegalStateException(
-                                        "@OnlyIf method must have exactly 3 parameters (state, request, command)");
-                            }
-                            onlyIfMethod = m;
-                            break;
-                        }
-                    }
-                    Method handleMethod = findHandleMethod(handlerClass, entityAnn.stateEnum(), actionAnn, entityClass);
-                    Method finalOnlyIfMethod = onlyIfMethod;
-                    //noinspection rawtypes
-                    actions.put(
-                            actionAnn.name(),
-                            new ActionDefinition(
-                                    actionAnn.name(),
-                                    actionAnn.description(),
-                                    allowedStates,
-                                    (state, req, cmd) -> {
-                                        if (finalOnlyIfMethod != null) {
-                                            try {
-                                                Object handlerInstance = instanceFactory.getInstance(handlerClass);
-                                                finalOnlyIfMethod.setAccessible(true);
-                                                Object result =
-                                                        finalOnlyIfMethod.invoke(handlerInstance, state, req, cmd);
-                                                return result instanceof Boolean ? (Boolean) result : false;
-                                            } catch (Exception e) {
-                                                throw new RuntimeException(e);
-                                            }
-                                        }
-                                        // TODO offer as a configuration option
-                                        return true;
-                                    },
-                                    (state, req, cmd, mutator) -> {
-                                        try {
-                                            Object handlerInstance = instanceFactory.getInstance(handlerClass);
-                                            handleMethod.setAccessible(true);
-                                            handleMethod.invoke(handlerInstance, state, req, cmd, mutator);
-                                        } catch (Exception e) {
-                                            throw new RuntimeException(
-                                                    "Failed to execute action handler: " + handlerClass, e);
-                                        }
-                                    }));
+
+                fields.put(
+                        fieldAnn.name(),
+                        new FieldDefinition<>(
+                                fieldAnn.name(), fieldAnn.type(), fieldInStateValidators, fieldTransitionValidators));
+            }
+            Map<String, ActionDefinition<Object, Object, ?>> actions = new HashMap<>();
+            log.debug("Entity '{}' has {} actions", entityName, entityAnn.actions().length);
+            for (Action actionAnn : entityAnn.actions()) {
+                Set<Object> allowedStates = new HashSet<>();
+                for (String stateName : actionAnn.allowedStates()) {
+                    allowedStates.add(stateValue(stateEnum, stateName, actionAnn.name()));
                 }
-                @SuppressWarnings("rawtypes")
-                List<InStateValidator> inStateValidators = new ArrayList<>();
-                for (Class<?> validatorClass : entityAnn.inStateValidators()) {
-                    try {
-                        Object validatorInstance = instanceFactory.getInstance(validatorClass);
-                        Method validateMethod = findInStateValidatorMethod(
-                                validatorClass,
-                                entityAnn.stateEnum(),
-                                com.libentity.core.validation.ValidationContext.class);
-                        inStateValidators.add((state, request, ctx) -> {
-                            try {
-                                validateMethod.setAccessible(true);
-                                validateMethod.invoke(validatorInstance, state, request, ctx);
-                            } catch (Exception e) {
-                                throw new RuntimeException(e);
-                            }
-                        });
-                    } catch (Exception e) {
-                        throw new RuntimeException("Failed to instantiate in-state validator: " + validatorClass, e);
+                Class<?> handlerClass = actionAnn.handler();
+                // Map command class to action name
+                commandToActionName.put(actionAnn.command(), actionAnn.name());
+                log.debug(
+                        "  Found action: '{}' (handler: {}, command: {})",
+                        actionAnn.name(),
+                        handlerClass.getName(),
+                        actionAnn.command().getName());
+                Method onlyIfMethod = null;
+                for (Method m : handlerClass.getDeclaredMethods()) {
+                    if (m.isAnnotationPresent(com.libentity.annotation.OnlyIf.class)) {
+                        ValidationUtils.validateOnlyIfMethod(m);
+                        onlyIfMethod = m;
+                        break;
                     }
                 }
-                @SuppressWarnings("rawtypes")
-                List<StateTransitionValidationEntry> transitionValidators = new ArrayList<>();
-                for (Class<?> validatorClass : entityAnn.transitionValidators()) {
-                    try {
-                        Object validatorInstance = instanceFactory.getInstance(validatorClass);
-                        Method validateMethod = findTransitionValidatorMethod(
-                                validatorClass,
-                                entityAnn.stateEnum(),
-                                com.libentity.core.validation.ValidationContext.class);
-                        //noinspection rawtypes
-                        transitionValidators.add(
-                                new StateTransitionValidationEntry(null, null, (from, to, request, ctx) -> {
-                                    try {
-                                        validateMethod.setAccessible(true);
-                                        validateMethod.invoke(validatorInstance, from, to, request, ctx);
-                                    } catch (Exception e) {
-                                        throw new RuntimeException(e);
-                                    }
-                                }));
-                    } catch (Exception e) {
-                        throw new RuntimeException("Failed to instantiate transition validator: " + validatorClass, e);
-                    }
+                Method handleMethod = findHandleMethod(handlerClass, entityAnn.stateEnum(), actionAnn, entityClass);
+                // Link the handler methods once; per call scoped handlers only resolve the instance per call.
+                Function<Object, ActionHandler<Object, Object, Object>> handlerBinder =
+                        binder(ActionHandler.class, handleMethod);
+                ActionHandler<Object, Object, Object> handler = instanceScope == InstanceScope.SINGLETON
+                        ? handlerBinder.apply(singleton(handlerClass))
+                        : (state, req, cmd, mutator) -> handlerBinder
+                                .apply(instanceFactory.getInstance(handlerClass))
+                                .execute(state, req, cmd, mutator);
+                // TODO offer the availability of actions without @OnlyIf as a configuration option
+                ActionAvailabilityPredicate<Object, Object, Object> onlyIf = null;
+                if (onlyIfMethod != null) {
+                    Function<Object, ActionAvailabilityPredicate<Object, Object, Object>> onlyIfBinder =
+                            binder(ActionAvailabilityPredicate.class, onlyIfMethod);
+                    onlyIf = instanceScope == InstanceScope.SINGLETON
+                            ? onlyIfBinder.apply(singleton(handlerClass))
+                            : (state, req, cmd) -> onlyIfBinder
+                                    .apply(instanceFactory.getInstance(handlerClass))
+                                    .test(state, req, cmd);
                 }
-                @SuppressWarnings("rawtypes")
-                Map<Object, List<InStateValidator>> inStateValidatorMap = new HashMap<>();
-                inStateValidatorMap.put(null, inStateValidators);
-                //noinspection rawtypes
-                EntityType entityType =
-                        new EntityType(entityName, fields, inStateValidatorMap, transitionValidators, actions);
-                entityTypes.put(entityName, entityType);
+                actions.put(
+                        actionAnn.name(),
+                        new ActionDefinition<>(
+                                actionAnn.name(), actionAnn.description(), allowedStates, onlyIf, handler));
+            }
+            List<InStateValidator<Object, Object>> inStateValidators = new ArrayList<>();
+            for (Class<?> validatorClass : entityAnn.inStateValidators()) {
+                inStateValidators.add(bindInStateValidator(validatorClass, stateEnum, "in-state validator"));
+            }
+            List<StateTransitionValidationEntry<Object, Object>> transitionValidators = new ArrayList<>();
+            for (Class<?> validatorClass : entityAnn.transitionValidators()) {
+                transitionValidators.add(new StateTransitionValidationEntry<>(
+                        null, null, bindTransitionValidator(validatorClass, stateEnum, "transition validator")));
             }
+            // Annotation in-state validators name no state, so like field validators they run in every state
+            EntityType<Object, Object> entityType = new EntityType<>(
+                    entityName, fields, new HashMap<>(), inStateValidators, transitionValidators, actions);
+            entityTypes.put(entityName, entityType);
         }
         return new EntityTypeRegistry(entityTypes, commandToActionName);
     }
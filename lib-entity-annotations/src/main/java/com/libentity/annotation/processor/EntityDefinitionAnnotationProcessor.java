@@ -0,0 +1,100 @@
+package com.libentity.annotation.processor;
+
+import com.libentity.annotation.EntityDefinition;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedSourceVersion;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Compile-time processor for {@link EntityDefinition}. For every entity class it:
+ *
+ * <ul>
+ *   <li>generates an {@link EntityTypeProvider} named {@code <Entity>EntityType} that wires the entity type with direct
+ *       method calls, registered in {@code META-INF/services}. Handler and validator signature errors are reported as
+ *       compile errors;
+ *   <li>lists the class in the {@code META-INF/libentity/entity-index} resource, so
+ *       {@link EntityAnnotationProcessor#buildEntityTypes(String...)} can load entities without scanning the class path
+ *       at startup, including the ones that could not be generated.
+ * </ul>
+ *
+ * <p>Enable it with {@code annotationProcessor project(':lib-entity-annotations')} (or the published artifact).
+ */
+@SupportedAnnotationTypes("com.libentity.annotation.EntityDefinition")
+@SupportedSourceVersion(SourceVersion.RELEASE_21)
+public class EntityDefinitionAnnotationProcessor extends AbstractProcessor {
+    static final String PROVIDERS_RESOURCE = "META-INF/services/" + EntityTypeProvider.class.getName();
+
+    // Sorted by binary name so the index is reproducible
+    private final Map<String, TypeElement> entities = new TreeMap<>();
+    private final Map<String, TypeElement> providers = new TreeMap<>();
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(EntityDefinition.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                processingEnv
+                        .getMessager()
+                        .printMessage(Diagnostic.Kind.ERROR, "@EntityDefinition is only supported on classes", element);
+                continue;
+            }
+            TypeElement entityClass = (TypeElement) element;
+            entities.put(
+                    processingEnv.getElementUtils().getBinaryName(entityClass).toString(), entityClass);
+            new EntityTypeGenerator(processingEnv, entityClass).generate().ifPresent(javaFile -> {
+                try {
+                    javaFile.writeTo(processingEnv.getFiler());
+                    providers.put(javaFile.packageName + "." + javaFile.typeSpec.name, entityClass);
+                } catch (IOException e) {
+                    processingEnv
+                            .getMessager()
+                            .printMessage(Diagnostic.Kind.ERROR, "Failed to write entity type: " + e.getMessage());
+                }
+            });
+        }
+        if (roundEnv.processingOver()) {
+            writeResource(EntityIndex.RESOURCE, entities);
+            writeResource(PROVIDERS_RESOURCE, providers);
+        }
+        return false;
+    }
+
+    // Writes one class name per line, the format of both the entity index and service files
+    private void writeResource(String name, Map<String, TypeElement> classNames) {
+        if (classNames.isEmpty()) {
+            return;
+        }
+        List<Element> originatingElements = new ArrayList<>(classNames.values());
+        try {
+            FileObject resource = processingEnv
+                    .getFiler()
+                    .createResource(
+                            StandardLocation.CLASS_OUTPUT, "", name, originatingElements.toArray(new Element[0]));
+            try (Writer writer = resource.openWriter()) {
+                writer.write("# Generated by " + getClass().getName() + "\n");
+                for (String className : classNames.keySet()) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv
+                    .getMessager()
+                    .printMessage(Diagnostic.Kind.ERROR, "Failed to write " + name + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.libentity.annotation.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Reads the {@code @EntityDefinition} index written by {@link EntityDefinitionAnnotationProcessor}.
+ *
+ * <p>Every jar or output directory compiled with the processor contains a {@value #RESOURCE} file listing the binary
+ * names of its entity classes, one per line. Lines starting with {@code #} are comments.
+ */
+final class EntityIndex {
+    static final String RESOURCE = "META-INF/libentity/entity-index";
+
+    private EntityIndex() {}
+
+    /**
+     * Returns the indexed entity class names inside the given packages (or all of them when no package is given), or
+     * empty when no index is present on the class path.
+     */
+    static Optional<List<String>> read(ClassLoader classLoader, String... basePackages) {
+        Set<String> classNames = new LinkedHashSet<>();
+        boolean found = false;
+        try {
+            Enumeration<URL> resources = classLoader.getResources(RESOURCE);
+            while (resources.hasMoreElements()) {
+                found = true;
+                try (InputStream in = resources.nextElement().openStream()) {
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        line = line.trim();
+                        if (!line.isEmpty() && !line.startsWith("#") && inPackages(line, basePackages)) {
+                            classNames.add(line);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + RESOURCE, e);
+        }
+        return found ? Optional.of(new ArrayList<>(classNames)) : Optional.empty();
+    }
+
+    /** Whether the class is in one of the packages or their sub-packages, or no package is given. */
+    static boolean inPackages(String className, String... basePackages) {
+        return basePackages.length == 0
+                || Arrays.stream(basePackages).anyMatch(pkg -> pkg.isEmpty() || className.startsWith(pkg + "."));
+    }
+}
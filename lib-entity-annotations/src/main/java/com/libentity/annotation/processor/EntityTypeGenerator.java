@@ -0,0 +1,465 @@
+package com.libentity.annotation.processor;
+
+import com.libentity.annotation.EntityDefinition;
+import com.libentity.annotation.Handle;
+import com.libentity.annotation.OnlyIf;
+import com.libentity.core.entity.EntityType;
+import com.libentity.core.state.StateMutator;
+import com.libentity.core.validation.ValidationContext;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates the {@link EntityTypeProvider} of one {@link EntityDefinition} class. The checks that {@link
+ * ValidationUtils} performs at runtime are reported as compile errors here. Entities whose handlers cannot be called
+ * from generated code (private classes or methods, checked exceptions) are skipped with a warning and keep being wired
+ * by reflection.
+ */
+final class EntityTypeGenerator {
+    private final ProcessingEnvironment processingEnv;
+    private final Elements elements;
+    private final Types types;
+    private final TypeElement entityClass;
+    private final String packageName;
+    private final Map<String, String> instanceVariables = new HashMap<>();
+    private final CodeBlock.Builder instances = CodeBlock.builder();
+    private final List<Element> originatingElements = new ArrayList<>();
+    private TypeMirror stateType;
+    private boolean failed;
+    private boolean skipped;
+
+    EntityTypeGenerator(ProcessingEnvironment processingEnv, TypeElement entityClass) {
+        this.processingEnv = processingEnv;
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+        this.entityClass = entityClass;
+        this.packageName = elements.getPackageOf(entityClass).getQualifiedName().toString();
+    }
+
+    /**
+     * Name of the provider generated for the entity class: {@code Invoice} and {@code InvoiceEntity} both become
+     * {@code InvoiceEntityType}, nested classes are joined with underscores.
+     */
+    static ClassName providerName(ClassName entityClass) {
+        String name = String.join("_", entityClass.simpleNames());
+        return ClassName.get(entityClass.packageName(), name + (name.endsWith("Entity") ? "Type" : "EntityType"));
+    }
+
+    /** Generate the provider source, or empty when the entity has errors or must be wired by reflection. */
+    Optional<JavaFile> generate() {
+        originatingElements.add(entityClass);
+        if (!isAccessible(entityClass)) {
+            return skip(entityClass + " is private");
+        }
+        AnnotationMirror entityAnn = annotation(entityClass, EntityDefinition.class);
+        String entityName = (String) value(entityAnn, "name");
+        stateType = (TypeMirror) value(entityAnn, "stateEnum");
+        TypeName stateName = TypeName.get(stateType);
+
+        CodeBlock.Builder builder = CodeBlock.builder()
+                .add("return $T.<$T, $T>builder($S)$>", EntityType.class, stateName, Object.class, entityName);
+        for (AnnotationMirror fieldAnn : mirrors(value(entityAnn, "fields"))) {
+            CodeBlock.Builder validators = CodeBlock.builder();
+            for (TypeMirror validator : classes(value(fieldAnn, "inStateValidators"))) {
+                validators.add("\n.validateInAnyState($L)", inStateValidator(validator));
+            }
+            for (TypeMirror validator : classes(value(fieldAnn, "transitionValidators"))) {
+                validators.add("\n.validateStateTransition(null, null, $L)", transitionValidator(validator));
+            }
+            CodeBlock config =
+                    validators.isEmpty() ? CodeBlock.of("{}") : CodeBlock.of("field$>$L$<", validators.build());
+            builder.add(
+                    "\n.field($S, $T.class, field -> $L)",
+                    value(fieldAnn, "name"),
+                    TypeName.get(types.erasure((TypeMirror) value(fieldAnn, "type"))),
+                    config);
+        }
+
+        Map<TypeMirror, String> commandToActionName = new LinkedHashMap<>();
+        for (AnnotationMirror actionAnn : mirrors(value(entityAnn, "actions"))) {
+            String actionName = (String) value(actionAnn, "name");
+            TypeMirror command = (TypeMirror) value(actionAnn, "command");
+            commandToActionName.put(command, actionName);
+            builder.add(
+                    "\n.<$T>action($S, action -> action$>\n.description($S)\n.allowedStates($L)$L\n.handler($L))$<",
+                    TypeName.get(types.erasure(command)),
+                    actionName,
+                    value(actionAnn, "description"),
+                    allowedStates(actionName, strings(value(actionAnn, "allowedStates"))),
+                    onlyIf((TypeMirror) value(actionAnn, "handler"), command),
+                    handler((TypeMirror) value(actionAnn, "handler"), command));
+        }
+        for (TypeMirror validator : classes(value(entityAnn, "inStateValidators"))) {
+            builder.add("\n.validateInAnyState($L)", inStateValidator(validator));
+        }
+        for (TypeMirror validator : classes(value(entityAnn, "transitionValidators"))) {
+            builder.add("\n.validateTransition(null, null, $L)", transitionValidator(validator));
+        }
+        builder.add("\n.build();\n$<");
+
+        if (failed || skipped) {
+            return Optional.empty();
+        }
+        return Optional.of(JavaFile.builder(packageName, provider(entityName, stateName, builder, commandToActionName))
+                .build());
+    }
+
+    private TypeSpec provider(
+            String entityName,
+            TypeName stateName,
+            CodeBlock.Builder builder,
+            Map<TypeMirror, String> commandToActionName) {
+        ClassName entity = ClassName.get(entityClass);
+        ClassName instanceFactory = ClassName.get(EntityAnnotationProcessor.InstanceFactory.class);
+        ClassName instanceScope = ClassName.get(EntityAnnotationProcessor.InstanceScope.class);
+        TypeName classType =
+                ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class));
+        TypeName commandMap =
+                ParameterizedTypeName.get(ClassName.get(Map.class), classType, ClassName.get(String.class));
+
+        CodeBlock.Builder commands =
+                CodeBlock.builder().addStatement("$T commandToActionName = new $T<>()", commandMap, HashMap.class);
+        commandToActionName.forEach((command, action) -> commands.addStatement(
+                "commandToActionName.put($T.class, $S)", TypeName.get(types.erasure(command)), action));
+        commands.addStatement("return commandToActionName");
+
+        TypeSpec.Builder provider = TypeSpec.classBuilder(providerName(entity))
+                .addJavadoc("Entity type wiring of {@link $T}, generated from its {@code @EntityDefinition}.\n", entity)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addSuperinterface(EntityTypeProvider.class)
+                .addMethod(MethodSpec.methodBuilder("entityClass")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(classType)
+                        .addStatement("return $T.class", entity)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("entityName")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(String.class)
+                        .addStatement("return $S", entityName)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("create")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(ParameterizedTypeName.get(ClassName.get(EntityType.class), stateName, TypeName.OBJECT))
+                        .addParameter(instanceFactory, "instanceFactory")
+                        .addParameter(instanceScope, "instanceScope")
+                        .addCode(instances.build())
+                        .addCode(builder.build())
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("commandToActionName")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(commandMap)
+                        .addCode(commands.build())
+                        .build());
+        originatingElements.forEach(provider::addOriginatingElement);
+        return provider.build();
+    }
+
+    private CodeBlock allowedStates(String actionName, List<String> stateNames) {
+        TypeElement stateEnum = (TypeElement) types.asElement(stateType);
+        List<String> constants = ElementFilter.fieldsIn(stateEnum.getEnclosedElements()).stream()
+                .filter(f -> f.getKind() == ElementKind.ENUM_CONSTANT)
+                .map(f -> f.getSimpleName().toString())
+                .toList();
+        List<CodeBlock> states = new ArrayList<>();
+        // Set.of rejects duplicates, while reflective wiring collects the states into a HashSet
+        for (String stateName : new LinkedHashSet<>(stateNames)) {
+            if (!constants.contains(stateName)) {
+                error("Unknown state '" + stateName + "' in allowedStates of action '" + actionName
+                        + "', expected one of " + constants);
+            }
+            states.add(CodeBlock.of("$T.$L", TypeName.get(stateType), stateName));
+        }
+        return CodeBlock.of("$T.of($L)", Set.class, CodeBlock.join(states, ", "));
+    }
+
+    private CodeBlock handler(TypeMirror handlerType, TypeMirror command) {
+        TypeElement handlerClass = (TypeElement) types.asElement(handlerType);
+        ExecutableElement method = annotatedMethod(handlerClass, Handle.class);
+        if (method == null) {
+            return error("No @Handle method found in action handler class " + handlerClass.getQualifiedName());
+        }
+        List<TypeMirror> params = parameterTypes(method);
+        if (params.size() != 4) {
+            return error("@Handle method must have exactly 4 parameters (state, request, command, mutator)");
+        }
+        if (!types.isSameType(params.get(0), stateType)) {
+            return error("@Handle method: first parameter must be the state enum type: " + stateType);
+        }
+        if (!types.isSameType(params.get(2), command)) {
+            return error("@Handle method: third parameter must be the command type: " + command);
+        }
+        TypeMirror mutatorType =
+                types.getDeclaredType(elements.getTypeElement(StateMutator.class.getName()), stateType);
+        if (!types.isAssignable(mutatorType, params.get(3))) {
+            return error("@Handle method: fourth parameter must be StateMutator");
+        }
+        return CodeBlock.of(
+                "(state, request, command, mutator) -> $L.$L(state, $L, command, mutator)",
+                target(handlerClass, method),
+                method.getSimpleName(),
+                argument(params.get(1), "request"));
+    }
+
+    private CodeBlock onlyIf(TypeMirror handlerType, TypeMirror command) {
+        TypeElement handlerClass = (TypeElement) types.asElement(handlerType);
+        ExecutableElement method = annotatedMethod(handlerClass, OnlyIf.class);
+        if (method == null) {
+            return CodeBlock.of("");
+        }
+        List<TypeMirror> params = parameterTypes(method);
+        if (params.size() != 3) {
+            return error("@OnlyIf method must have exactly 3 parameters (state, request, command)");
+        }
+        TypeKind returnKind = method.getReturnType().getKind();
+        if (returnKind != TypeKind.BOOLEAN
+                && !types.isSameType(
+                        method.getReturnType(),
+                        elements.getTypeElement("java.lang.Boolean").asType())) {
+            return error("@OnlyIf method must return boolean");
+        }
+        if (!types.isAssignable(stateType, params.get(0)) || !types.isAssignable(command, params.get(2))) {
+            return error("@OnlyIf method must accept the state enum type and the command type of its action");
+        }
+        return CodeBlock.of(
+                "\n.onlyIf((state, request, command) -> $L.$L(state, $L, command))",
+                target(handlerClass, method),
+                method.getSimpleName(),
+                argument(params.get(1), "request"));
+    }
+
+    private CodeBlock inStateValidator(TypeMirror validatorType) {
+        TypeElement validatorClass = (TypeElement) types.asElement(validatorType);
+        ExecutableElement method = validateMethod(validatorClass, "in-state");
+        if (method == null) {
+            return CodeBlock.of("null");
+        }
+        List<TypeMirror> params = parameterTypes(method);
+        if (params.size() != 3) {
+            return error("InStateValidator 'validate' method must have exactly 3 parameters (state, request, ctx)");
+        }
+        if (!types.isSameType(params.get(0), stateType)) {
+            return error("InStateValidator: first parameter must be the state enum type: " + stateType);
+        }
+        if (!isValidationContext(params.get(2))) {
+            return error("InStateValidator: third parameter must be ValidationContext");
+        }
+        return CodeBlock.of(
+                "(state, request, ctx) -> $L.validate(state, $L, ctx)",
+                target(validatorClass, method),
+                argument(params.get(1), "request"));
+    }
+
+    private CodeBlock transitionValidator(TypeMirror validatorType) {
+        TypeElement validatorClass = (TypeElement) types.asElement(validatorType);
+        ExecutableElement method = validateMethod(validatorClass, "transition");
+        if (method == null) {
+            return CodeBlock.of("null");
+        }
+        List<TypeMirror> params = parameterTypes(method);
+        if (params.size() != 4) {
+            return error(
+                    "TransitionValidator 'validate' method must have exactly 4 parameters (from, to, request, ctx)");
+        }
+        if (!types.isSameType(params.get(0), stateType)) {
+            return error("TransitionValidator: first parameter must be the state enum type: " + stateType);
+        }
+        if (!types.isSameType(params.get(1), stateType)) {
+            return error("TransitionValidator: second parameter must be the state enum type: " + stateType);
+        }
+        if (!isValidationContext(params.get(3))) {
+            return error("TransitionValidator: fourth parameter must be ValidationContext");
+        }
+        return CodeBlock.of(
+                "(from, to, request, ctx) -> $L.validate(from, to, $L, ctx)",
+                target(validatorClass, method),
+                argument(params.get(2), "request"));
+    }
+
+    // The expression the method is called on: the class for static methods, otherwise its scoped instance
+    private CodeBlock target(TypeElement clazz, ExecutableElement method) {
+        originatingElements.add(clazz);
+        if (!isAccessible(clazz)
+                || method.getModifiers().contains(Modifier.PRIVATE)
+                || (!isSamePackage(clazz) && !method.getModifiers().contains(Modifier.PUBLIC))) {
+            skip(method + " of " + clazz.getQualifiedName() + " is not accessible from generated code");
+        }
+        for (TypeMirror thrown : method.getThrownTypes()) {
+            if (!types.isSubtype(
+                            thrown,
+                            elements.getTypeElement("java.lang.RuntimeException")
+                                    .asType())
+                    && !types.isSubtype(
+                            thrown, elements.getTypeElement("java.lang.Error").asType())) {
+                skip(method + " of " + clazz.getQualifiedName() + " declares checked exceptions");
+            }
+        }
+        ClassName className = ClassName.get(clazz);
+        if (method.getModifiers().contains(Modifier.STATIC)) {
+            return CodeBlock.of("$T", className);
+        }
+        String variable =
+                instanceVariables.computeIfAbsent(clazz.getQualifiedName().toString(), name -> {
+                    String candidate = decapitalize(className.simpleName()) + "Instance";
+                    String unique = candidate;
+                    for (int i = 2; instanceVariables.containsValue(unique); i++) {
+                        unique = candidate + i;
+                    }
+                    instances.addStatement(
+                            "$T $L = $T.scoped(instanceFactory, instanceScope, $T.class)",
+                            ParameterizedTypeName.get(ClassName.get(Supplier.class), className),
+                            unique,
+                            EntityTypeProvider.class,
+                            className);
+                    return unique;
+                });
+        return CodeBlock.of("$L.get()", variable);
+    }
+
+    private CodeBlock argument(TypeMirror parameterType, String name) {
+        if (types.isSameType(
+                parameterType, elements.getTypeElement("java.lang.Object").asType())) {
+            return CodeBlock.of("$L", name);
+        }
+        return CodeBlock.of("($T) $L", TypeName.get(types.erasure(parameterType)), name);
+    }
+
+    private ExecutableElement validateMethod(TypeElement validatorClass, String kind) {
+        for (ExecutableElement m : ElementFilter.methodsIn(validatorClass.getEnclosedElements())) {
+            if (m.getSimpleName().contentEquals("validate")) {
+                return m;
+            }
+        }
+        error("No 'validate' method found in " + kind + " validator class " + validatorClass.getQualifiedName());
+        return null;
+    }
+
+    private static ExecutableElement annotatedMethod(
+            TypeElement clazz, Class<? extends java.lang.annotation.Annotation> annotation) {
+        for (ExecutableElement m : ElementFilter.methodsIn(clazz.getEnclosedElements())) {
+            if (m.getAnnotation(annotation) != null) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    private List<TypeMirror> parameterTypes(ExecutableElement method) {
+        return method.getParameters().stream().map(Element::asType).toList();
+    }
+
+    private boolean isValidationContext(TypeMirror type) {
+        return types.isSameType(
+                type, elements.getTypeElement(ValidationContext.class.getName()).asType());
+    }
+
+    private boolean isSamePackage(TypeElement clazz) {
+        return elements.getPackageOf(clazz).getQualifiedName().contentEquals(packageName);
+    }
+
+    // Generated code lives in the entity's package and can reach package-private and public (nested) classes
+    private boolean isAccessible(TypeElement clazz) {
+        boolean samePackage = isSamePackage(clazz);
+        for (Element e = clazz; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            Set<Modifier> modifiers = e.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || (!samePackage && !modifiers.contains(Modifier.PUBLIC))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CodeBlock error(String message) {
+        failed = true;
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, entityClass);
+        return CodeBlock.of("null");
+    }
+
+    private Optional<JavaFile> skip(String reason) {
+        if (!skipped) {
+            skipped = true;
+            processingEnv
+                    .getMessager()
+                    .printMessage(
+                            Diagnostic.Kind.WARNING,
+                            "Not generating entity type wiring, it will be built by reflection at runtime: " + reason,
+                            entityClass);
+        }
+        return Optional.empty();
+    }
+
+    private AnnotationMirror annotation(Element element, Class<?> annotationType) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement())
+                    .getQualifiedName()
+                    .contentEquals(annotationType.getName())) {
+                return mirror;
+            }
+        }
+        throw new IllegalArgumentException(element + " is not annotated with " + annotationType.getName());
+    }
+
+    private Object value(AnnotationMirror mirror, String name) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        throw new IllegalArgumentException("No value " + name + " in " + mirror);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> values(Object arrayValue) {
+        return ((List<? extends AnnotationValue>) arrayValue)
+                .stream().map(v -> (T) v.getValue()).toList();
+    }
+
+    private static List<AnnotationMirror> mirrors(Object arrayValue) {
+        return values(arrayValue);
+    }
+
+    private static List<TypeMirror> classes(Object arrayValue) {
+        return values(arrayValue);
+    }
+
+    private static List<String> strings(Object arrayValue) {
+        return values(arrayValue);
+    }
+
+    private static String decapitalize(String s) {
+        return s.substring(0, 1).toLowerCase() + s.substring(1);
+    }
+}
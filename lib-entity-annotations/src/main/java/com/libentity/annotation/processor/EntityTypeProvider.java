@@ -0,0 +1,43 @@
+package com.libentity.annotation.processor;
+
+import com.libentity.annotation.EntityDefinition;
+import com.libentity.core.entity.EntityType;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Entity type wiring generated at compile time by {@link EntityDefinitionAnnotationProcessor} for an
+ * {@link EntityDefinition} class. Generated providers call handlers and validators directly, with no reflection, and
+ * are registered through {@link java.util.ServiceLoader}. {@link EntityAnnotationProcessor#buildEntityTypes(String...)}
+ * prefers them over binding annotated methods at runtime.
+ */
+public interface EntityTypeProvider {
+    /** The class annotated with {@link EntityDefinition}. */
+    Class<?> entityClass();
+
+    /** The entity name, as declared by {@link EntityDefinition#name()}. */
+    String entityName();
+
+    /** Create the entity type, obtaining handler and validator instances from the factory. */
+    EntityType<?, ?> create(
+            EntityAnnotationProcessor.InstanceFactory instanceFactory,
+            EntityAnnotationProcessor.InstanceScope instanceScope);
+
+    /** Action names by command class. */
+    Map<Class<?>, String> commandToActionName();
+
+    /**
+     * Resolve instances of a handler or validator class according to the scope. Singletons are obtained from the
+     * factory once, when this method is called.
+     */
+    static <T> Supplier<T> scoped(
+            EntityAnnotationProcessor.InstanceFactory instanceFactory,
+            EntityAnnotationProcessor.InstanceScope instanceScope,
+            Class<T> clazz) {
+        if (instanceScope == EntityAnnotationProcessor.InstanceScope.SINGLETON) {
+            T instance = instanceFactory.getInstance(clazz);
+            return () -> instance;
+        }
+        return () -> instanceFactory.getInstance(clazz);
+    }
+}
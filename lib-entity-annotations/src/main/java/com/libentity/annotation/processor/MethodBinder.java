@@ -0,0 +1,142 @@
+package com.libentity.annotation.processor;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Binds annotated handler and validator methods to the core functional interfaces once, while the registry is built.
+ *
+ * <p>Bindings are spun with {@link LambdaMetafactory}, so an invocation is a plain interface call into the target
+ * method: no {@code Method.invoke}, no argument arrays and no exception wrapping. When the metafactory cannot link the
+ * target (for example because it was loaded by an unrelated class loader), binding falls back to a dynamic proxy
+ * over a method handle that is also linked once.
+ */
+@Slf4j
+final class MethodBinder {
+    private static final MethodType INSTANCE_FACTORY_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    private MethodBinder() {}
+
+    /** Bind the method on the given instance (ignored for static methods) to the functional interface. */
+    static <T> T bind(Class<T> functionalInterface, Method method, Object instance) {
+        return binder(functionalInterface, method).apply(instance);
+    }
+
+    /**
+     * Returns a function that adapts an instance of the method's declaring class to the functional interface. The
+     * linkage work happens here; applying the function only allocates the small adapter object.
+     */
+    static <T> Function<Object, T> binder(Class<T> functionalInterface, Method method) {
+        Method sam = singleAbstractMethod(functionalInterface);
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        try {
+            MethodHandle factory = metafactory(functionalInterface, sam, method, isStatic);
+            return instance -> {
+                try {
+                    return functionalInterface.cast(
+                            isStatic ? (Object) factory.invokeExact() : (Object) factory.invokeExact(instance));
+                } catch (Throwable e) {
+                    throw new IllegalStateException("Failed to bind " + method, e);
+                }
+            };
+        } catch (Throwable e) {
+            log.debug("Falling back to a dynamic proxy for {}: {}", method, e.toString());
+            return proxyBinder(functionalInterface, sam, method, isStatic);
+        }
+    }
+
+    private static MethodHandle metafactory(Class<?> functionalInterface, Method sam, Method method, boolean isStatic)
+            throws Throwable {
+        Class<?> declaringClass = method.getDeclaringClass();
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+        MethodType samType = MethodType.methodType(sam.getReturnType(), sam.getParameterTypes());
+        MethodType factoryType = isStatic
+                ? MethodType.methodType(functionalInterface)
+                : MethodType.methodType(functionalInterface, declaringClass);
+        MethodHandle factory = LambdaMetafactory.metafactory(
+                        lookup,
+                        sam.getName(),
+                        factoryType,
+                        samType,
+                        lookup.unreflect(method),
+                        instantiatedType(samType, method))
+                .getTarget();
+        return isStatic ? factory.asType(MethodType.methodType(Object.class)) : factory.asType(INSTANCE_FACTORY_TYPE);
+    }
+
+    // The metafactory casts arguments to the narrower of the interface and method parameter types.
+    private static MethodType instantiatedType(MethodType samType, Method method) {
+        Class<?>[] params = method.getParameterTypes();
+        if (params.length != samType.parameterCount()) {
+            throw new IllegalArgumentException("Parameter count mismatch for " + method);
+        }
+        Class<?>[] instantiated = new Class<?>[params.length];
+        for (int i = 0; i < params.length; i++) {
+            Class<?> samParam = samType.parameterType(i);
+            instantiated[i] = samParam.isAssignableFrom(params[i]) ? params[i] : samParam;
+        }
+        return MethodType.methodType(samType.returnType(), instantiated);
+    }
+
+    /**
+     * Binds through {@link Proxy}. The target is unreflected and spread into a {@code (instance, args)} handle here,
+     * so applying the function only allocates the proxy; static methods share a single proxy.
+     */
+    static <T> Function<Object, T> proxyBinder(
+            Class<T> functionalInterface, Method sam, Method method, boolean isStatic) {
+        MethodHandle target;
+        try {
+            method.setAccessible(true);
+            target = MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access " + method, e);
+        }
+        MethodHandle invoker = (isStatic ? MethodHandles.dropArguments(target, 0, Object.class) : target)
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(INVOKER_TYPE);
+        if (isStatic) {
+            T shared = proxy(functionalInterface, sam, invoker, null);
+            return instance -> shared;
+        }
+        return instance -> proxy(functionalInterface, sam, invoker, instance);
+    }
+
+    private static <T> T proxy(Class<T> functionalInterface, Method sam, MethodHandle invoker, Object instance) {
+        InvocationHandler handler = (proxy, m, args) -> {
+            if (m.equals(sam)) {
+                return (Object) invoker.invokeExact(instance, args);
+            }
+            if (m.isDefault()) {
+                return InvocationHandler.invokeDefault(proxy, m, args);
+            }
+            return switch (m.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> functionalInterface.getName() + "@"
+                        + Integer.toHexString(System.identityHashCode(proxy));
+                default -> throw new UnsupportedOperationException(m.toString());
+            };
+        };
+        return functionalInterface.cast(Proxy.newProxyInstance(
+                functionalInterface.getClassLoader(), new Class<?>[] {functionalInterface}, handler));
+    }
+
+    private static Method singleAbstractMethod(Class<?> functionalInterface) {
+        return Arrays.stream(functionalInterface.getMethods())
+                .filter(m -> Modifier.isAbstract(m.getModifiers()))
+                .reduce((a, b) -> {
+                    throw new IllegalArgumentException(functionalInterface + " is not a functional interface");
+                })
+                .orElseThrow(() -> new IllegalArgumentException(functionalInterface + " has no abstract method"));
+    }
+}
@@ -24,6 +24,15 @@ final class ValidationUtils {
         }
     }
 
+    static void validateOnlyIfMethod(Method m) {
+        if (m.getParameterCount() != 3) {
+            throw new IllegalStateException("@OnlyIf method must have exactly 3 parameters (state, request, command)");
+        }
+        if (m.getReturnType() != boolean.class && m.getReturnType() != Boolean.class) {
+            throw new IllegalStateException("@OnlyIf method must return boolean");
+        }
+    }
+
     static void validateInStateValidatorMethod(Method m, Class<?> stateEnum, Class<?> validationContextClass) {
         if (m.getParameterCount() != 3) {
             throw new IllegalStateException(
@@ -2,9 +2,15 @@ package com.libentity.annotation.processor;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.libentity.core.action.ActionDefinition;
 import com.libentity.core.entity.EntityType;
 import com.libentity.core.entity.FieldDefinition;
 import com.libentity.core.entity.StateTransitionValidationEntry;
+import com.libentity.core.validation.ValidationContext;
+import com.libentity.core.validation.ValidationError;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.junit.jupiter.api.Test;
 
 public class EntityAnnotationProcessorMinimalTest {
@@ -18,6 +24,10 @@ public class EntityAnnotationProcessorMinimalTest {
         EntityType<PaymentState, Object> entityType = registry.entityTypes().get("Payment");
         assertNotNull(entityType, "EntityType for Payment should not be null");
         assertTrue(entityType.getActions().containsKey("submitPayment"), "Action 'submitPayment' should be registered");
+        assertEquals(
+                java.util.Set.of(PaymentState.DRAFT),
+                entityType.getActions().get("submitPayment").getAllowedStates(),
+                "Allowed states should be resolved to enum constants");
 
         // Test command to action mapping
         assertFalse(registry.commandToActionName().isEmpty(), "Command to action mapping should not be empty");
@@ -31,8 +41,8 @@ public class EntityAnnotationProcessorMinimalTest {
 
         // Check field
         assertTrue(entityType.getFields().containsKey("amount"), "Field 'amount' should be registered");
-        // Check in-state validator
-        assertFalse(entityType.getInStateValidators().isEmpty(), "Should have in-state validators");
+        // Check in-state validator, which names no state and so runs in every state
+        assertFalse(entityType.getAnyStateValidators().isEmpty(), "Should have in-state validators");
         // Check transition validator from DRAFT to APPROVED
         boolean hasTransitionValidator = entityType.getTransitionValidators().stream()
                 .anyMatch(v -> ((StateTransitionValidationEntry<?, ?>) v).getFromState() == null
@@ -138,4 +148,85 @@ public class EntityAnnotationProcessorMinimalTest {
                         BadTransitionValidator.class, DummyState.class, DummyContext.class));
         assertTrue(ex.getMessage().contains("TransitionValidator: fourth parameter must be ValidationContext"));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void annotatedInStateValidatorsRunInEveryState() {
+        EntityType<PaymentState, Object> entityType = new EntityAnnotationProcessor()
+                .buildEntityTypes("com.libentity.annotation.processor")
+                .entityTypes()
+                .get("Payment");
+
+        for (PaymentState state : PaymentState.values()) {
+            ValidationContext ctx = new ValidationContext();
+            entityType.validateState(state, new PaymentRequest(0), ctx);
+            // Once as the field validator of 'amount', once as the entity validator
+            assertEquals(
+                    List.of("AMOUNT_INVALID", "AMOUNT_INVALID"),
+                    ctx.getErrors().stream().map(ValidationError::getCode).toList(),
+                    "Both validators should run in " + state);
+        }
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void testSingletonScopeReusesInstances() {
+        Map<Class<?>, Integer> created = new ConcurrentHashMap<>();
+        EntityAnnotationProcessor processor = new EntityAnnotationProcessor(new EntityAnnotationProcessor.Options(
+                countingFactory(created), EntityAnnotationProcessor.InstanceScope.SINGLETON));
+        ActionDefinition action = submitPayment(processor);
+
+        runTwice(action);
+
+        assertEquals(1, created.get(PaymentActionHandler.class), "Handler should be created once");
+        assertEquals(1, created.get(SampleAmountValidator.class), "Validators should be shared");
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void testPerCallScopeIsTheDefaultAndAsksFactoryOnEveryCall() {
+        Map<Class<?>, Integer> created = new ConcurrentHashMap<>();
+        EntityAnnotationProcessor.Options options = new EntityAnnotationProcessor.Options(countingFactory(created));
+        assertEquals(EntityAnnotationProcessor.InstanceScope.PER_CALL, options.instanceScope());
+        EntityAnnotationProcessor processor = new EntityAnnotationProcessor(options);
+        ActionDefinition action = submitPayment(processor);
+        assertNull(created.get(PaymentActionHandler.class), "Handler should not be created while building");
+
+        runTwice(action);
+
+        assertEquals(4, created.get(PaymentActionHandler.class), "Handler should be created for every call");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ActionDefinition<PaymentState, Object, ?> submitPayment(EntityAnnotationProcessor processor) {
+        EntityType<PaymentState, Object> entityType = processor
+                .buildEntityTypes("com.libentity.annotation.processor")
+                .entityTypes()
+                .get("Payment");
+        return entityType.getActions().get("submitPayment");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void runTwice(ActionDefinition action) {
+        PaymentRequest request = new PaymentRequest(50);
+        SubmitPaymentCommand command = new SubmitPaymentCommand("2024-01-01", "alice");
+        for (int i = 0; i < 2; i++) {
+            assertTrue(action.getOnlyIf().test(PaymentState.DRAFT, request, command));
+            action.getHandler().execute(PaymentState.DRAFT, request, command, null);
+        }
+    }
+
+    private static EntityAnnotationProcessor.InstanceFactory countingFactory(Map<Class<?>, Integer> created) {
+        return new EntityAnnotationProcessor.InstanceFactory() {
+            @Override
+            public <T> T getInstance(Class<T> clazz) {
+                created.merge(clazz, 1, Integer::sum);
+                try {
+                    return clazz.getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
 }
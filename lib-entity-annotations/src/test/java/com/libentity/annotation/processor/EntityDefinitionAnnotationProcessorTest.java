@@ -0,0 +1,306 @@
+package com.libentity.annotation.processor;
+
+import static com.google.common.truth.Truth.assertThat;
+import static com.google.testing.compile.Compiler.javac;
+import static com.google.testing.compile.JavaFileObjects.forSourceString;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.libentity.core.validation.ValidationContext;
+import com.libentity.core.validation.ValidationError;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.Set;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class EntityDefinitionAnnotationProcessorTest {
+    @Test
+    void writesIndexOfEntityClasses() throws Exception {
+        JavaFileObject entitySource = forSourceString(
+                "com.example.OrderEntity",
+                """
+            package com.example;
+            import com.libentity.annotation.EntityDefinition;
+            public class OrderEntity {
+                public enum OrderState { OPEN, CLOSED }
+                @EntityDefinition(name = "Order", stateEnum = OrderState.class, fields = {})
+                public static class Definition {}
+            }
+            """);
+        var compilation = javac().withProcessors(new EntityDefinitionAnnotationProcessor())
+                .compile(List.of(entitySource));
+        assertThat(compilation.errors()).isEmpty();
+        var index = compilation.generatedFile(StandardLocation.CLASS_OUTPUT, EntityIndex.RESOURCE);
+        assertThat(index).isPresent();
+        String content = index.get().getCharContent(true).toString();
+        assertThat(content).contains("com.example.OrderEntity$Definition\n");
+    }
+
+    @Test
+    void generatesEntityTypeProvider() throws Exception {
+        var compilation = compileOrder("public", "{\"OPEN\"}");
+        assertThat(compilation.errors()).isEmpty();
+        assertThat(compilation.generatedSourceFile("com.example.OrderEntityType"))
+                .isPresent();
+        String source = compilation
+                .generatedSourceFile("com.example.OrderEntityType")
+                .get()
+                .getCharContent(true)
+                .toString();
+        assertThat(source).contains("orderHandlerInstance.get().handle(state, (String) request, command, mutator)");
+        assertThat(source).contains("Set.of(OrderEntity.OrderState.OPEN)");
+        var providers = compilation.generatedFile(
+                StandardLocation.CLASS_OUTPUT, EntityDefinitionAnnotationProcessor.PROVIDERS_RESOURCE);
+        assertThat(providers).isPresent();
+        assertThat(providers.get().getCharContent(true).toString()).contains("com.example.OrderEntityType\n");
+    }
+
+    @Test
+    void reportsUnknownAllowedState() {
+        var compilation = compileOrder("public", "{\"NOPE\"}");
+        assertThat(compilation.errors()).hasSize(1);
+        assertThat(compilation.errors().get(0).getMessage(null))
+                .contains("Unknown state 'NOPE' in allowedStates of action 'close'");
+    }
+
+    @Test
+    void deduplicatesAllowedStates() throws Exception {
+        var compilation = compileOrder("public", "{\"OPEN\", \"CLOSED\", \"OPEN\"}");
+        assertThat(compilation.errors()).isEmpty();
+        String source = compilation
+                .generatedSourceFile("com.example.OrderEntityType")
+                .get()
+                .getCharContent(true)
+                .toString();
+        assertThat(source).contains("Set.of(OrderEntity.OrderState.OPEN, OrderEntity.OrderState.CLOSED)");
+    }
+
+    @Test
+    void skipsInaccessibleHandlerWithWarning() {
+        var compilation = compileOrder("private", "{}");
+        assertThat(compilation.errors()).isEmpty();
+        assertThat(compilation.warnings().stream().map(w -> w.getMessage(null)).toList())
+                .contains("Not generating entity type wiring, it will be built by reflection at runtime: "
+                        + "handle(com.example.OrderEntity.OrderState,java.lang.String,com.example.CloseOrder,"
+                        + "com.libentity.core.state.StateMutator<com.example.OrderEntity.OrderState>) of "
+                        + "com.example.OrderHandler is not accessible from generated code");
+        assertThat(compilation.generatedSourceFile("com.example.OrderEntityType"))
+                .isEmpty();
+        assertThat(compilation.generatedFile(StandardLocation.CLASS_OUTPUT, EntityIndex.RESOURCE))
+                .isPresent();
+    }
+
+    @Test
+    void reportsInvalidHandleSignature() {
+        JavaFileObject handler = forSourceString(
+                "com.example.OrderHandler",
+                """
+            package com.example;
+            import com.libentity.annotation.Handle;
+            public class OrderHandler {
+                @Handle
+                public void handle(OrderEntity.OrderState state, String request, String command) {}
+            }
+            """);
+        var compilation = javac().withProcessors(new EntityDefinitionAnnotationProcessor())
+                .compile(List.of(orderEntity("{}"), closeOrder(), handler));
+        assertThat(compilation.errors()).hasSize(1);
+        assertThat(compilation.errors().get(0).getMessage(null))
+                .contains("@Handle method must have exactly 4 parameters");
+    }
+
+    private static com.google.testing.compile.Compilation compileOrder(String handleVisibility, String allowedStates) {
+        JavaFileObject handler = forSourceString(
+                "com.example.OrderHandler",
+                """
+            package com.example;
+            import com.libentity.annotation.Handle;
+            import com.libentity.annotation.OnlyIf;
+            import com.libentity.core.state.StateMutator;
+            public class OrderHandler {
+                @Handle
+                %s void handle(OrderEntity.OrderState state, String request, CloseOrder command,
+                        StateMutator<OrderEntity.OrderState> mutator) {
+                    mutator.setState(OrderEntity.OrderState.CLOSED);
+                }
+                @OnlyIf
+                public boolean canClose(OrderEntity.OrderState state, Object request, CloseOrder command) {
+                    return true;
+                }
+            }
+            """
+                        .formatted(handleVisibility));
+        return javac().withProcessors(new EntityDefinitionAnnotationProcessor())
+                .compile(List.of(orderEntity(allowedStates), closeOrder(), handler));
+    }
+
+    private static JavaFileObject orderEntity(String allowedStates) {
+        return forSourceString(
+                "com.example.OrderEntity",
+                """
+            package com.example;
+            import com.libentity.annotation.Action;
+            import com.libentity.annotation.EntityDefinition;
+            @EntityDefinition(
+                    name = "Order",
+                    stateEnum = OrderEntity.OrderState.class,
+                    fields = {},
+                    actions = {
+                        @Action(name = "close", handler = OrderHandler.class, command = CloseOrder.class,
+                                allowedStates = %s)
+                    })
+            public class OrderEntity {
+                public enum OrderState { OPEN, CLOSED }
+            }
+            """
+                        .formatted(allowedStates));
+    }
+
+    private static JavaFileObject closeOrder() {
+        return forSourceString("com.example.CloseOrder", "package com.example; public record CloseOrder() {}");
+    }
+
+    @Test
+    void readsIndexFilteredByPackage(@TempDir Path dir) throws Exception {
+        try (URLClassLoader classLoader =
+                indexLoader(dir, "# comment", "com.example.a.One", "com.example.ab.Two", "com.other.Three")) {
+            assertEquals(Optional.of(List.of("com.example.a.One")), EntityIndex.read(classLoader, "com.example.a"));
+            assertEquals(3, EntityIndex.read(classLoader).orElseThrow().size());
+        }
+    }
+
+    @Test
+    void buildEntityTypesPrefersIndexOverScanning(@TempDir Path dir) throws Exception {
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader classLoader = indexLoader(dir, PaymentEntity.class.getName())) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+
+            // The index only lists Payment, scanning also finds the integration test entity
+            var indexed = new EntityAnnotationProcessor().buildEntityTypes("com.libentity.annotation");
+            assertEquals(List.of("Payment"), List.copyOf(indexed.entityTypes().keySet()));
+
+            // Packages the index does not cover are still scanned
+            var partial = new EntityAnnotationProcessor()
+                    .buildEntityTypes("com.libentity.annotation.processor", "com.libentity.annotation.integration");
+            assertEquals(
+                    Set.of("Payment", "Reimbursement"), partial.entityTypes().keySet());
+
+            var scanned = new EntityAnnotationProcessor(new EntityAnnotationProcessor.Options(
+                            EntityDefinitionAnnotationProcessorTest::newInstance,
+                            EntityAnnotationProcessor.InstanceScope.SINGLETON,
+                            EntityAnnotationProcessor.Discovery.SCAN))
+                    .buildEntityTypes("com.libentity.annotation");
+            assertTrue(scanned.entityTypes().size() > 1, "Scanning should find every entity");
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void generatedProviderRunsTheSameValidatorsAsScanning(@TempDir Path dir) throws Exception {
+        var compilation = javac().withProcessors(new EntityDefinitionAnnotationProcessor())
+                .compile(List.of(
+                        forSourceString(
+                                "com.example.parity.InvoiceEntity",
+                                """
+            package com.example.parity;
+            import com.libentity.annotation.EntityDefinition;
+            import com.libentity.annotation.Field;
+            @EntityDefinition(
+                    name = "Invoice",
+                    stateEnum = InvoiceEntity.InvoiceState.class,
+                    fields = {@Field(name = "amount", type = int.class, inStateValidators = AmountValidator.class)},
+                    inStateValidators = TotalValidator.class)
+            public class InvoiceEntity {
+                public enum InvoiceState { DRAFT, PAID }
+            }
+            """),
+                        validator("AmountValidator", "AMOUNT"),
+                        validator("TotalValidator", "TOTAL")));
+        assertThat(compilation.errors()).isEmpty();
+        assertThat(compilation.generatedSourceFile("com.example.parity.InvoiceEntityType"))
+                .isPresent();
+        String classOutput = "/" + StandardLocation.CLASS_OUTPUT.getName() + "/";
+        for (JavaFileObject file : compilation.generatedFiles()) {
+            String path = file.toUri().getPath();
+            if (path.startsWith(classOutput)) {
+                Path target = dir.resolve(path.substring(classOutput.length()));
+                Files.createDirectories(target.getParent());
+                try (var in = file.openInputStream()) {
+                    Files.copy(in, target);
+                }
+            }
+        }
+
+        ClassLoader previous = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader classLoader = new URLClassLoader(
+                new URL[] {dir.toUri().toURL()}, EntityDefinitionAnnotationProcessorTest.class.getClassLoader())) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            Enum<?> paid = (Enum<?>) classLoader.loadClass("com.example.parity.InvoiceEntity$InvoiceState")
+                    .getEnumConstants()[1];
+            // INDEX creates the entity type through the generated provider, SCAN by reflection
+            assertEquals(
+                    1,
+                    ServiceLoader.load(EntityTypeProvider.class, classLoader).stream()
+                            .count());
+
+            for (var discovery : EntityAnnotationProcessor.Discovery.values()) {
+                var entityType = new EntityAnnotationProcessor(new EntityAnnotationProcessor.Options(
+                                EntityDefinitionAnnotationProcessorTest::newInstance,
+                                EntityAnnotationProcessor.InstanceScope.PER_CALL,
+                                discovery))
+                        .buildEntityTypes("com.example.parity")
+                        .entityTypes()
+                        .get("Invoice");
+                ValidationContext ctx = new ValidationContext();
+                entityType.validateState(paid, "request", ctx);
+                assertEquals(
+                        List.of("AMOUNT", "TOTAL"),
+                        ctx.getErrors().stream().map(ValidationError::getCode).toList(),
+                        "Validators run with " + discovery);
+            }
+        } finally {
+            Thread.currentThread().setContextClassLoader(previous);
+        }
+    }
+
+    private static JavaFileObject validator(String name, String code) {
+        return forSourceString(
+                "com.example.parity." + name,
+                """
+            package com.example.parity;
+            import com.libentity.core.validation.ValidationContext;
+            public class %s {
+                public void validate(InvoiceEntity.InvoiceState state, String request, ValidationContext ctx) {
+                    ctx.addError("%s", "Validated in " + state);
+                }
+            }
+            """
+                        .formatted(name, code));
+    }
+
+    private static URLClassLoader indexLoader(Path dir, String... lines) throws Exception {
+        Path index = dir.resolve(EntityIndex.RESOURCE);
+        Files.createDirectories(index.getParent());
+        Files.write(index, List.of(lines), StandardCharsets.UTF_8);
+        return new URLClassLoader(
+                new URL[] {dir.toUri().toURL()}, EntityDefinitionAnnotationProcessorTest.class.getClassLoader());
+    }
+
+    private static <T> T newInstance(Class<T> clazz) {
+        try {
+            return clazz.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.libentity.annotation.processor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.libentity.core.action.ActionAvailabilityPredicate;
+import com.libentity.core.action.ActionHandler;
+import com.libentity.core.entity.InStateValidator;
+import com.libentity.core.validation.ValidationContext;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+public class MethodBinderTest {
+    private static class PrivateHandler {
+        private final List<String> calls = new ArrayList<>();
+
+        private void handle(PaymentState state, Object request, SubmitPaymentCommand command, Object mutator) {
+            calls.add(state.name());
+        }
+
+        private static boolean onlyIf(PaymentState state, Object request, SubmitPaymentCommand command) {
+            return state == PaymentState.DRAFT;
+        }
+
+        private void validate(PaymentState state, Object request, ValidationContext ctx) {
+            throw new IllegalArgumentException("invalid " + state);
+        }
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void bindsPrivateInstanceMethodWithoutProxy() throws Exception {
+        PrivateHandler target = new PrivateHandler();
+        ActionHandler handler = MethodBinder.bind(ActionHandler.class, method("handle"), target);
+
+        handler.execute(PaymentState.DRAFT, null, new SubmitPaymentCommand("2024-01-01", "alice"), null);
+
+        assertEquals(List.of("DRAFT"), target.calls);
+        assertFalse(Proxy.isProxyClass(handler.getClass()), "Binding should not fall back to a proxy");
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void bindsStaticMethodIgnoringInstance() throws Exception {
+        ActionAvailabilityPredicate onlyIf =
+                MethodBinder.bind(ActionAvailabilityPredicate.class, method("onlyIf"), null);
+
+        assertTrue(onlyIf.test(PaymentState.DRAFT, null, new SubmitPaymentCommand("2024-01-01", "alice")));
+        assertFalse(onlyIf.test(PaymentState.APPROVED, null, new SubmitPaymentCommand("2024-01-01", "alice")));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void propagatesExceptionsUnwrapped() throws Exception {
+        InStateValidator validator =
+                MethodBinder.bind(InStateValidator.class, method("validate"), new PrivateHandler());
+
+        IllegalArgumentException e = assertThrows(
+                IllegalArgumentException.class,
+                () -> validator.validate(PaymentState.DRAFT, null, new ValidationContext()));
+        assertEquals("invalid DRAFT", e.getMessage());
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void proxyFallbackBindsEachInstance() throws Exception {
+        PrivateHandler first = new PrivateHandler();
+        PrivateHandler second = new PrivateHandler();
+        Function<Object, ActionHandler> binder = MethodBinder.proxyBinder(
+                ActionHandler.class, ActionHandler.class.getMethods()[0], method("handle"), false);
+        SubmitPaymentCommand command = new SubmitPaymentCommand("2024-01-01", "alice");
+
+        ActionHandler handler = binder.apply(first);
+        handler.execute(PaymentState.DRAFT, null, command, null);
+        binder.apply(second).execute(PaymentState.APPROVED, null, command, null);
+
+        assertTrue(Proxy.isProxyClass(handler.getClass()));
+        assertEquals(List.of("DRAFT"), first.calls);
+        assertEquals(List.of("APPROVED"), second.calls);
+        assertEquals(handler, handler);
+        InStateValidator validator = (InStateValidator) MethodBinder.proxyBinder(
+                        InStateValidator.class, InStateValidator.class.getMethods()[0], method("validate"), false)
+                .apply(first);
+        IllegalArgumentException e = assertThrows(
+                IllegalArgumentException.class,
+                () -> validator.validate(PaymentState.DRAFT, null, new ValidationContext()));
+        assertEquals("invalid DRAFT", e.getMessage());
+    }
+
+    private static Method method(String name) {
+        for (Method m : PrivateHandler.class.getDeclaredMethods()) {
+            if (m.getName().equals(name)) {
+                return m;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+}
@@ -18,6 +18,7 @@ import java.math.BigDecimal;
             @Action(
                     name = "submitPayment",
                     description = "Submit a payment",
+                    allowedStates = {"DRAFT"},
                     handler = PaymentActionHandler.class,
                     command = SubmitPaymentCommand.class)
         },
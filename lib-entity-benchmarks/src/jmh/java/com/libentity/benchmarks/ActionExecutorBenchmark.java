@@ -0,0 +1,76 @@
+package com.libentity.benchmarks;
+
+import com.libentity.core.action.ActionExecutor;
+import com.libentity.core.action.ActionResult;
+import com.libentity.core.action.StateRequest;
+import com.libentity.core.action.SyncActionExecutor;
+import com.libentity.core.validation.ValidationContext;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link SyncActionExecutor#execute} and {@link SyncActionExecutor#getAllowedActions}, for one entity and for
+ * a listing page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ActionExecutorBenchmark {
+    private static final int LISTING_SIZE = 500;
+
+    @Param({"1", "10", "50"})
+    int fields;
+
+    @Param({"1", "5"})
+    int validatorsPerField;
+
+    @Param({"5", "50"})
+    int actions;
+
+    @Param({"4", "16"})
+    int states;
+
+    private ActionExecutor<BenchState, BenchRequest> executor;
+    private BenchRequest request;
+    private BenchCommand command;
+    private List<StateRequest<BenchState, BenchRequest>> listing;
+
+    @Setup
+    public void setup() {
+        executor = SyncActionExecutor.<BenchState, BenchRequest>builder()
+                .entityType(BenchEntities.entityType(fields, validatorsPerField, actions, states))
+                .build();
+        request = new BenchRequest(100);
+        // action0 is allowed in S0 and moves the entity to S1, so transition and state validation both run
+        command = new BenchCommand(BenchEntities.actionName(0));
+        // A listing page of 500 entities spread over all states
+        BenchState[] values = BenchEntities.states(states);
+        listing = IntStream.range(0, LISTING_SIZE)
+                .mapToObj(i -> new StateRequest<>(values[i % values.length], request))
+                .toList();
+    }
+
+    @Benchmark
+    public ActionResult<BenchState, BenchRequest, BenchCommand> execute() {
+        return executor.execute(BenchState.S0, request, new ValidationContext(), command);
+    }
+
+    @Benchmark
+    public List<String> getAllowedActions() {
+        return executor.getAllowedActions(BenchState.S0, request);
+    }
+
+    @Benchmark
+    public List<List<String>> getAllowedActionsForListing() {
+        return executor.getAllowedActions(listing);
+    }
+}
@@ -0,0 +1,74 @@
+package com.libentity.benchmarks;
+
+import com.libentity.annotation.processor.EntityAnnotationProcessor;
+import com.libentity.annotation.processor.EntityTypeRegistry;
+import com.libentity.benchmarks.annotated.SubmitCommand;
+import com.libentity.core.action.ActionExecutor;
+import com.libentity.core.action.ActionResult;
+import com.libentity.core.action.SyncActionExecutor;
+import com.libentity.core.entity.EntityType;
+import com.libentity.core.validation.ValidationContext;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the handlers produced by {@link EntityAnnotationProcessor#buildEntityTypes} with an equivalent entity
+ * defined through the builder DSL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AnnotatedEntityBenchmark {
+    @Param({"annotation", "builder"})
+    String definition;
+
+    private ActionExecutor<BenchState, BenchRequest> executor;
+    private BenchRequest request;
+    private SubmitCommand command;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        if (definition.equals("annotation")) {
+            EntityTypeRegistry registry =
+                    new EntityAnnotationProcessor().buildEntityTypes("com.libentity.benchmarks.annotated");
+            executor = SyncActionExecutor.<BenchState, BenchRequest>builder()
+                    .entityType(registry.entityTypes().get("BenchInvoice"))
+                    .commandToActionResolver(registry.getCommandToActionNameResolver())
+                    .build();
+        } else {
+            EntityType<BenchState, BenchRequest> entityType = EntityType.<BenchState, BenchRequest>builder(
+                            "BenchInvoice")
+                    .field("amount", Integer.class, f -> {})
+                    .<SubmitCommand>action("submit", a -> a.allowedStates(Set.of())
+                            .onlyIf((state, req, cmd) -> req.amount() > 0)
+                            .handler((state, req, cmd, mutator) -> mutator.setState(BenchState.S1)))
+                    .build();
+            executor = SyncActionExecutor.<BenchState, BenchRequest>builder()
+                    .entityType(entityType)
+                    .commandToActionResolver(command -> "submit")
+                    .build();
+        }
+        request = new BenchRequest(100);
+        command = new SubmitCommand("user");
+    }
+
+    @Benchmark
+    public ActionResult<BenchState, BenchRequest, SubmitCommand> execute() {
+        return executor.execute(BenchState.S0, request, new ValidationContext(), command);
+    }
+
+    @Benchmark
+    public List<String> getAllowedActions() {
+        return executor.getAllowedActions(BenchState.S0, request);
+    }
+}
@@ -0,0 +1,11 @@
+package com.libentity.benchmarks;
+
+import com.libentity.core.action.ActionCommand;
+
+/** Command that names the benchmark action to run. */
+public record BenchCommand(String name) implements ActionCommand {
+    @Override
+    public String getActionName() {
+        return name;
+    }
+}
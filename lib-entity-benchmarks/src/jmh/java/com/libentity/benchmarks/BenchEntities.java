@@ -0,0 +1,70 @@
+package com.libentity.benchmarks;
+
+import com.libentity.core.entity.EntityType;
+import java.util.Set;
+
+/** Builds synthetic entity types whose size is controlled by the benchmark parameters. */
+public final class BenchEntities {
+    private BenchEntities() {}
+
+    /**
+     * Build an entity type with the given shape.
+     *
+     * <p>Every field registers {@code validatorsPerField} in-state validators and as many transition validators,
+     * spread round-robin over the states. Action {@code i} is allowed in state {@code i % states}, moves the entity to
+     * the next state, and every other action carries an {@code onlyIf} predicate.
+     *
+     * @param fields number of fields
+     * @param validatorsPerField number of in-state and transition validators per field
+     * @param actions number of actions
+     * @param states number of states in use, at most {@link BenchState#values()}{@code .length}
+     */
+    public static EntityType<BenchState, BenchRequest> entityType(
+            int fields, int validatorsPerField, int actions, int states) {
+        BenchState[] values = states(states);
+        EntityType.EntityTypeBuilder<BenchState, BenchRequest> builder = EntityType.builder("Bench");
+        for (int f = 0; f < fields; f++) {
+            int offset = f;
+            builder.field("field" + f, Integer.class, field -> {
+                for (int v = 0; v < validatorsPerField; v++) {
+                    BenchState state = values[(offset + v) % values.length];
+                    BenchState next = values[(offset + v + 1) % values.length];
+                    field.validateInState(state, (s, request, ctx) -> {
+                        if (request.amount() < 0) {
+                            ctx.addError("NEGATIVE", "Amount must not be negative");
+                        }
+                    });
+                    field.validateStateTransition(state, next, (from, to, request, ctx) -> {
+                        if (request.amount() < 0) {
+                            ctx.addError("NEGATIVE", "Amount must not be negative");
+                        }
+                    });
+                }
+            });
+        }
+        for (int a = 0; a < actions; a++) {
+            BenchState state = values[a % values.length];
+            BenchState next = values[(a + 1) % values.length];
+            boolean gated = a % 2 == 1;
+            builder.<BenchCommand>action(actionName(a), action -> {
+                action.allowedStates(Set.of(state)).handler((s, request, command, mutator) -> mutator.setState(next));
+                if (gated) {
+                    action.onlyIf((s, request, command) -> request.amount() > 0);
+                }
+            });
+        }
+        return builder.build();
+    }
+
+    /** Name of the action with the given index. */
+    public static String actionName(int index) {
+        return "action" + index;
+    }
+
+    /** The first {@code count} states. */
+    public static BenchState[] states(int count) {
+        BenchState[] values = new BenchState[count];
+        System.arraycopy(BenchState.values(), 0, values, 0, count);
+        return values;
+    }
+}
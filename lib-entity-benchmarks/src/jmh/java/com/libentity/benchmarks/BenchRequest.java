@@ -0,0 +1,4 @@
+package com.libentity.benchmarks;
+
+/** Request passed to handlers and validators of the benchmark entities. */
+public record BenchRequest(int amount) {}
@@ -0,0 +1,21 @@
+package com.libentity.benchmarks;
+
+/** States used by the benchmark entities. Benchmarks use the first {@code states} constants. */
+public enum BenchState {
+    S0,
+    S1,
+    S2,
+    S3,
+    S4,
+    S5,
+    S6,
+    S7,
+    S8,
+    S9,
+    S10,
+    S11,
+    S12,
+    S13,
+    S14,
+    S15
+}
@@ -0,0 +1,88 @@
+package com.libentity.benchmarks;
+
+import com.libentity.core.filter.FieldFilterType;
+import com.libentity.core.filter.FilterDefinition;
+import com.libentity.core.filter.RangeFilter;
+import com.libentity.jooqsupport.JooqFilterSupport;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures {@link JooqFilterSupport#buildCondition} for filters with a growing number of populated fields. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JooqFilterBenchmark {
+    private static final int FIELDS = 20;
+
+    /** Filter with twenty scalar and twenty range fields. */
+    public static class WideFilter {
+        public Integer f0, f1, f2, f3, f4, f5, f6, f7, f8, f9, f10, f11, f12, f13, f14, f15, f16, f17, f18, f19;
+        public RangeFilter<Integer> r0,
+                r1,
+                r2,
+                r3,
+                r4,
+                r5,
+                r6,
+                r7,
+                r8,
+                r9,
+                r10,
+                r11,
+                r12,
+                r13,
+                r14,
+                r15,
+                r16,
+                r17,
+                r18,
+                r19;
+    }
+
+    @Param({"1", "5", "20"})
+    int populatedFields;
+
+    private WideFilter filter;
+    private FilterDefinition<WideFilter> definition;
+    private Map<String, Field<?>> fieldMapping;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        Map<String, Set<FieldFilterType>> supportedFields = new HashMap<>();
+        fieldMapping = new HashMap<>();
+        filter = new WideFilter();
+        for (int i = 0; i < FIELDS; i++) {
+            supportedFields.put("f" + i, Set.of(FieldFilterType.EQ));
+            supportedFields.put(
+                    "r" + i, Set.of(FieldFilterType.GT, FieldFilterType.LT, FieldFilterType.GTE, FieldFilterType.LTE));
+            fieldMapping.put("f" + i, DSL.field("f" + i, Integer.class));
+            fieldMapping.put("r" + i, DSL.field("r" + i, Integer.class));
+            if (i < populatedFields) {
+                RangeFilter<Integer> range = new RangeFilter<>();
+                range.setGt(i);
+                range.setLte(i + 100);
+                WideFilter.class.getField("f" + i).set(filter, i);
+                WideFilter.class.getField("r" + i).set(filter, range);
+            }
+        }
+        definition = new FilterDefinition<>("WideFilter", WideFilter.class, supportedFields);
+    }
+
+    @Benchmark
+    public Condition buildCondition() {
+        return JooqFilterSupport.buildCondition(filter, definition, fieldMapping);
+    }
+}
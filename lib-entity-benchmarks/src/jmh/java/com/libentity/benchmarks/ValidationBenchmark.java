@@ -0,0 +1,51 @@
+package com.libentity.benchmarks;
+
+import com.libentity.core.entity.EntityType;
+import com.libentity.core.validation.ValidationContext;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/** Measures {@link EntityType#validateState} and {@link EntityType#validateTransition}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmark {
+    @Param({"1", "10", "50"})
+    int fields;
+
+    @Param({"1", "5"})
+    int validatorsPerField;
+
+    @Param({"4", "16"})
+    int states;
+
+    private EntityType<BenchState, BenchRequest> entityType;
+    private BenchRequest request;
+
+    @Setup
+    public void setup() {
+        entityType = BenchEntities.entityType(fields, validatorsPerField, 1, states);
+        request = new BenchRequest(100);
+    }
+
+    @Benchmark
+    public ValidationContext validateState() {
+        ValidationContext ctx = new ValidationContext();
+        entityType.validateState(BenchState.S1, request, ctx);
+        return ctx;
+    }
+
+    @Benchmark
+    public ValidationContext validateTransition() {
+        ValidationContext ctx = new ValidationContext();
+        entityType.validateTransition(BenchState.S0, BenchState.S1, request, ctx);
+        return ctx;
+    }
+}
@@ -0,0 +1,13 @@
+package com.libentity.benchmarks.annotated;
+
+import com.libentity.benchmarks.BenchRequest;
+import com.libentity.benchmarks.BenchState;
+import com.libentity.core.validation.ValidationContext;
+
+public class AmountTransitionValidator {
+    public void validate(BenchState from, BenchState to, BenchRequest request, ValidationContext ctx) {
+        if (request.amount() < 0) {
+            ctx.addError("NEGATIVE", "Amount must not be negative");
+        }
+    }
+}
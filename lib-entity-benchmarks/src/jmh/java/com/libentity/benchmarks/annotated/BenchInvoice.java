@@ -0,0 +1,21 @@
+package com.libentity.benchmarks.annotated;
+
+import com.libentity.annotation.Action;
+import com.libentity.annotation.EntityDefinition;
+import com.libentity.annotation.Field;
+import com.libentity.benchmarks.BenchState;
+
+@EntityDefinition(
+        name = "BenchInvoice",
+        stateEnum = BenchState.class,
+        fields = {
+            @Field(
+                    name = "amount",
+                    type = Integer.class,
+                    inStateValidators = {AmountValidator.class},
+                    transitionValidators = {AmountTransitionValidator.class})
+        },
+        actions = {
+            @Action(name = "submit", handler = SubmitHandler.class, command = SubmitCommand.class),
+        })
+public class BenchInvoice {}
@@ -0,0 +1,4 @@
+package com.libentity.benchmarks.annotated;
+
+/** Command of the annotation-defined benchmark action. */
+public record SubmitCommand(String submitterId) {}
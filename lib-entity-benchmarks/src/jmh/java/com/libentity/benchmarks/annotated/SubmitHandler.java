@@ -0,0 +1,20 @@
+package com.libentity.benchmarks.annotated;
+
+import com.libentity.annotation.Handle;
+import com.libentity.annotation.OnlyIf;
+import com.libentity.benchmarks.BenchRequest;
+import com.libentity.benchmarks.BenchState;
+import com.libentity.core.state.StateMutator;
+
+public class SubmitHandler {
+    @Handle
+    public void handle(
+            BenchState state, BenchRequest request, SubmitCommand command, StateMutator<BenchState> mutator) {
+        mutator.setState(BenchState.S1);
+    }
+
+    @OnlyIf
+    public boolean canSubmit(BenchState state, BenchRequest request, SubmitCommand command) {
+        return request.amount() > 0;
+    }
+}
@@ -7,6 +7,7 @@ import com.libentity.core.validation.ValidationError;
 import com.libentity.core.validation.ValidationException;
 import java.util.List;
 import java.util.Set;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -17,15 +18,28 @@ import lombok.Getter;
  * @param <R> The type of request
  * @param <C> The type of command
  */
-@Builder
 @Getter
 public class ActionDefinition<S, R, C> {
+    /** Error code reported when an action is executed in a state or for a request it is not available for. */
+    public static final String ACTION_NOT_ALLOWED = "ACTION_NOT_ALLOWED";
+
     private final String name;
     private final String description;
     private final Set<S> allowedStates;
     private final ActionAvailabilityPredicate<S, R, C> onlyIf;
     private final ActionHandler<S, R, C> handler;
 
+    /** Whether every rejection throws one shared exception without a stack trace. */
+    private final boolean stacklessRejections;
+
+    /** The errors of a rejection; built once, as rejections always carry the same error. */
+    @Getter(AccessLevel.NONE)
+    private final List<ValidationError> rejectionErrors;
+
+    /** The exception shared by all rejections when {@link #stacklessRejections} is set, otherwise null. */
+    @Getter(AccessLevel.NONE)
+    private final ValidationException stacklessRejection;
+
     /**
      * Constructor for ActionDefinition.
      *
@@ -41,14 +55,43 @@ public class ActionDefinition<S, R, C> {
             Set<S> allowedStates,
             ActionAvailabilityPredicate<S, R, C> onlyIf,
             ActionHandler<S, R, C> handler) {
+        this(name, description, allowedStates, onlyIf, handler, false);
+    }
+
+    /**
+     * Constructor for ActionDefinition.
+     *
+     * @param name                The name of the action.
+     * @param description         The description of the action.
+     * @param allowedStates       The set of states in which the action is allowed.
+     * @param onlyIf              The predicate that determines if the action is allowed.
+     * @param handler             The handler that executes the action.
+     * @param stacklessRejections Whether rejections throw one precomputed exception without a stack trace instead of
+     *                            a new exception each time. Cheaper when rejections are frequent, but the exception no
+     *                            longer shows where the action was executed.
+     */
+    @Builder
+    public ActionDefinition(
+            String name,
+            String description,
+            Set<S> allowedStates,
+            ActionAvailabilityPredicate<S, R, C> onlyIf,
+            ActionHandler<S, R, C> handler,
+            boolean stacklessRejections) {
         this.name = name;
         this.description = description;
         this.allowedStates = allowedStates;
         this.onlyIf = onlyIf;
         this.handler = handler;
+        this.stacklessRejections = stacklessRejections;
+        this.rejectionErrors = List.of(ValidationError.builder()
+                .code(ACTION_NOT_ALLOWED)
+                .defaultMessage("Action " + name + " is not allowed in current state")
+                .build());
+        this.stacklessRejection = stacklessRejections ? ValidationException.stackless(rejectionErrors) : null;
     }
 
-    /** Execute this action. */
+    /** Execute this action, throwing a {@link ValidationException} if it is not available. */
     public void execute(
             S currentState,
             R request,
@@ -56,24 +99,36 @@ public class ActionDefinition<S, R, C> {
             ValidationContext ctx,
             StateMutator<S> mutator,
             EntityType<S, R> entityType) {
-        // Check if action can be executed
-        if (allowedStates != null && allowedStates.isEmpty()) {
-            if (onlyIf != null && !onlyIf.test(currentState, request, command)) {
-                throw new ValidationException(List.of(ValidationError.builder()
-                        .code("ACTION_NOT_ALLOWED")
-                        .defaultMessage("Action " + name + " is not allowed in current state")
-                        .build()));
-            }
-        } else {
-            if (allowedStates != null && !allowedStates.contains(currentState)
-                    || (onlyIf != null && !onlyIf.test(currentState, request, command))) {
-                throw new ValidationException(List.of(ValidationError.builder()
-                        .code("ACTION_NOT_ALLOWED")
-                        .defaultMessage("Action " + name + " is not allowed in current state")
-                        .build()));
-            }
+        if (!isAvailable(currentState, request, command)) {
+            throw rejection();
         }
+        perform(currentState, request, command, ctx, mutator, entityType);
+    }
+
+    /** Whether the action may run in the given state for the request and command. */
+    public boolean isAvailable(S currentState, R request, C command) {
+        boolean stateAllowed = allowedStates == null || allowedStates.isEmpty() || allowedStates.contains(currentState);
+        return stateAllowed && (onlyIf == null || onlyIf.test(currentState, request, command));
+    }
+
+    /** The exception thrown when the action is not available: a new one, or the shared one if stackless. */
+    ValidationException rejection() {
+        return stacklessRejection != null ? stacklessRejection : new ValidationException(rejectionErrors);
+    }
 
+    /** The errors reported when the action is not available. */
+    List<ValidationError> rejectionErrors() {
+        return rejectionErrors;
+    }
+
+    /** Run the handler and validate the resulting state, after availability has been checked. */
+    void perform(
+            S currentState,
+            R request,
+            C command,
+            ValidationContext ctx,
+            StateMutator<S> mutator,
+            EntityType<S, R> entityType) {
         // Execute the action handler
         handler.execute(currentState, request, command, mutator);
 
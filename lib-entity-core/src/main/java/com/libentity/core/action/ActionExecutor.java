@@ -1,6 +1,7 @@
 package com.libentity.core.action;
 
 import com.libentity.core.validation.ValidationContext;
+import com.libentity.core.validation.ValidationException;
 import java.util.List;
 
 /**
@@ -23,8 +24,54 @@ public interface ActionExecutor<S, R> {
      */
     <C> ActionResult<S, R, C> execute(S currentState, R request, ValidationContext ctx, C command);
 
+    /**
+     * Executes an action like {@link #execute}, but returns rejections and validation failures as an
+     * {@link ActionOutcome} instead of throwing a {@link ValidationException}. By default the exception thrown by
+     * {@link #execute} is caught and reported as {@link ActionOutcome.ValidationFailed}, as it does not tell a
+     * rejection apart; implementations that check availability up front report {@link ActionOutcome.Rejected} and may
+     * avoid the exception altogether.
+     *
+     * @param <C> The type of the action command
+     * @return The outcome, holding the action result on success
+     */
+    default <C> ActionOutcome<S, R, C> tryExecute(S currentState, R request, ValidationContext ctx, C command) {
+        try {
+            return new ActionOutcome.Success<>(execute(currentState, request, ctx, command));
+        } catch (ValidationException e) {
+            return new ActionOutcome.ValidationFailed<>(e.getErrors());
+        }
+    }
+
     /**
      * Returns the names of all actions whose onlyIf predicate returns true for the given state, entity data, and request.
      */
     List<String> getAllowedActions(S currentState, R request);
+
+    /**
+     * Returns the allowed actions of many entities at once, for example every row of a listing, in the order of the
+     * entities. Implementations may group entities by state and evaluate a
+     * {@link BatchActionAvailabilityPredicate} once per group; by default each entity is evaluated on its own.
+     */
+    default List<List<String>> getAllowedActions(List<StateRequest<S, R>> entities) {
+        return entities.stream()
+                .map(entity -> getAllowedActions(entity.state(), entity.request()))
+                .toList();
+    }
+
+    /**
+     * Executes many commands, each with its own validation context, and returns one result per item in the same
+     * order. Items rejected by validation are reported in their result instead of failing the batch; any other
+     * exception is propagated.
+     *
+     * @param items The commands to execute with the state and request of their entity
+     * @param parallel Whether to execute the items in parallel across cores
+     * @param <C> The type of the action commands
+     * @return The results, in the order of the items
+     */
+    default <C> List<BatchResult<S, R, C>> executeBatch(List<BatchItem<S, R, C>> items, boolean parallel) {
+        return (parallel ? items.parallelStream() : items.stream())
+                .map(item -> BatchResult.of(
+                        item, tryExecute(item.state(), item.request(), new ValidationContext(), item.command())))
+                .toList();
+    }
 }
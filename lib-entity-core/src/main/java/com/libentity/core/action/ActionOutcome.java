@@ -0,0 +1,54 @@
+package com.libentity.core.action;
+
+import com.libentity.core.validation.ValidationError;
+import com.libentity.core.validation.ValidationException;
+import java.util.List;
+
+/**
+ * Outcome of {@link ActionExecutor#tryExecute}: the action either succeeded, was rejected because it is not available
+ * in the current state or for the request, or ran but failed validation. Returned instead of throwing a
+ * {@link ValidationException}, so callers in hot loops handle failures with a {@code switch} rather than try/catch:
+ *
+ * <pre>{@code
+ * switch (executor.tryExecute(state, request, new ValidationContext(), command)) {
+ *     case ActionOutcome.Success<InvoiceState, InvoiceRequestContext, Submit> success -> save(success.result());
+ *     case ActionOutcome.Rejected<InvoiceState, InvoiceRequestContext, Submit> rejected -> skip();
+ *     case ActionOutcome.ValidationFailed<InvoiceState, InvoiceRequestContext, Submit> failed -> report(failed.errors());
+ * }
+ * }</pre>
+ *
+ * @param <S> The type of state
+ * @param <R> The type of request
+ * @param <C> The type of command
+ */
+public sealed interface ActionOutcome<S, R, C> {
+    /** The errors that stopped the action, empty on success. */
+    List<ValidationError> errors();
+
+    /** Whether the action was executed without validation errors. */
+    default boolean succeeded() {
+        return this instanceof Success;
+    }
+
+    /** The result on success, otherwise throws a {@link ValidationException} with the errors. */
+    default ActionResult<S, R, C> orElseThrow() {
+        if (this instanceof Success<S, R, C> success) {
+            return success.result();
+        }
+        throw new ValidationException(errors());
+    }
+
+    /** The action was executed and passed validation. */
+    record Success<S, R, C>(ActionResult<S, R, C> result) implements ActionOutcome<S, R, C> {
+        @Override
+        public List<ValidationError> errors() {
+            return List.of();
+        }
+    }
+
+    /** The action is not available in the current state or for the request; its handler did not run. */
+    record Rejected<S, R, C>(List<ValidationError> errors) implements ActionOutcome<S, R, C> {}
+
+    /** The action ran, but its handler or the resulting transition or state failed validation. */
+    record ValidationFailed<S, R, C>(List<ValidationError> errors) implements ActionOutcome<S, R, C> {}
+}
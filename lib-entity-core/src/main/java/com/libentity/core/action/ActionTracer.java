@@ -0,0 +1,44 @@
+package com.libentity.core.action;
+
+import com.libentity.core.validation.ValidationError;
+import java.util.List;
+
+/**
+ * Receives the steps of action execution, for logging, metrics or tracing.
+ *
+ * <p>Every method does nothing by default. Executors call the tracer unconditionally with values they already hold,
+ * so the default {@link #noop()} tracer costs an empty call that the JIT inlines away: no strings are built and no
+ * argument arrays are allocated. Implementations decide themselves what to record, for example
+ * {@link Slf4jActionTracer} only formats messages when debug logging is enabled.
+ *
+ * @param <S> The type of state
+ */
+public interface ActionTracer<S> {
+    /** Called before the availability of the action is checked. */
+    default void actionStarted(String entityName, S state, String actionName) {}
+
+    /** Called when the action is not available in the state or for the request. */
+    default void actionRejected(String entityName, S state, String actionName) {}
+
+    /** Called when the action ran but the resulting transition or state failed validation. */
+    default void actionFailed(String entityName, S state, String actionName, List<ValidationError> errors) {}
+
+    /** Called when the action ran and passed validation. */
+    default void actionSucceeded(String entityName, S state, String actionName, S newState) {}
+
+    /** Called before the items of a batch are executed; each item is then traced on its own. */
+    default void batchStarted(String entityName, int size, boolean parallel) {}
+
+    /** A tracer that records nothing. */
+    @SuppressWarnings("unchecked")
+    static <S> ActionTracer<S> noop() {
+        return (ActionTracer<S>) Noop.INSTANCE;
+    }
+
+    /** Holder of the shared no-op instance. */
+    final class Noop implements ActionTracer<Object> {
+        private static final Noop INSTANCE = new Noop();
+
+        private Noop() {}
+    }
+}
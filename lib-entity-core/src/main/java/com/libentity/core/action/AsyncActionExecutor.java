@@ -0,0 +1,86 @@
+package com.libentity.core.action;
+
+import com.libentity.core.validation.ValidationContext;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import lombok.Builder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Asynchronous ActionExecutor that runs actions, including their handlers and validators, on an {@link Executor}.
+ *
+ * <p>By default every action runs on its own virtual thread, so handlers and validators may block on I/O (remote
+ * checks, database lookups) without holding a platform thread per request. The synchronous methods of
+ * {@link ActionExecutor} are delegated as-is, making this a drop-in replacement for the wrapped executor.
+ *
+ * <p>The {@link ValidationContext} passed to {@link #executeAsync} is filled on the executor thread; read it only
+ * after the returned future completes.
+ *
+ * @param <S> The type of state
+ * @param <R> The type of request
+ */
+@Builder
+@RequiredArgsConstructor
+public class AsyncActionExecutor<S, R> implements ActionExecutor<S, R> {
+    /** Runs each task on a new virtual thread. */
+    public static final Executor VIRTUAL_THREADS = Thread::startVirtualThread;
+
+    /**
+     * The executor that performs the actions, for example a {@link SyncActionExecutor}.
+     */
+    private final ActionExecutor<S, R> delegate;
+    /**
+     * The executor the actions run on.
+     */
+    @Builder.Default
+    private final Executor executor = VIRTUAL_THREADS;
+
+    /**
+     * Executes an action on the executor. The future completes with the action result, or exceptionally with the
+     * exception thrown by the action, such as a {@link com.libentity.core.validation.ValidationException}.
+     */
+    public <C> CompletableFuture<ActionResult<S, R, C>> executeAsync(
+            S currentState, R request, ValidationContext ctx, C command) {
+        return CompletableFuture.supplyAsync(() -> delegate.execute(currentState, request, ctx, command), executor);
+    }
+
+    /**
+     * Executes an action on the executor. The future completes with the outcome, so rejections and validation failures
+     * do not complete it exceptionally.
+     */
+    public <C> CompletableFuture<ActionOutcome<S, R, C>> tryExecuteAsync(
+            S currentState, R request, ValidationContext ctx, C command) {
+        return CompletableFuture.supplyAsync(() -> delegate.tryExecute(currentState, request, ctx, command), executor);
+    }
+
+    /** Returns the allowed actions, evaluating the onlyIf predicates on the executor. */
+    public CompletableFuture<List<String>> getAllowedActionsAsync(S currentState, R request) {
+        return CompletableFuture.supplyAsync(() -> delegate.getAllowedActions(currentState, request), executor);
+    }
+
+    @Override
+    public <C> ActionResult<S, R, C> execute(S currentState, R request, ValidationContext ctx, C command) {
+        return delegate.execute(currentState, request, ctx, command);
+    }
+
+    @Override
+    public <C> ActionOutcome<S, R, C> tryExecute(S currentState, R request, ValidationContext ctx, C command) {
+        return delegate.tryExecute(currentState, request, ctx, command);
+    }
+
+    @Override
+    public List<String> getAllowedActions(S currentState, R request) {
+        return delegate.getAllowedActions(currentState, request);
+    }
+
+    @Override
+    public List<List<String>> getAllowedActions(List<StateRequest<S, R>> entities) {
+        return delegate.getAllowedActions(entities);
+    }
+
+    @Override
+    public <C> List<BatchResult<S, R, C>> executeBatch(List<BatchItem<S, R, C>> items, boolean parallel) {
+        return delegate.executeBatch(items, parallel);
+    }
+}
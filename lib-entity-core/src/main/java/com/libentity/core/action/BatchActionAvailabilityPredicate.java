@@ -0,0 +1,29 @@
+package com.libentity.core.action;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An {@link ActionAvailabilityPredicate} that can also decide for many entities at once, for example with a single
+ * database query for all of them. {@link ActionExecutor#getAllowedActions(List)} calls {@link #testAll} once per state
+ * instead of {@link #test} once per entity.
+ *
+ * @param <S> The type of state
+ * @param <R> The type of request
+ * @param <C> The type of command
+ */
+@FunctionalInterface
+public interface BatchActionAvailabilityPredicate<S, R, C> extends ActionAvailabilityPredicate<S, R, C> {
+    /**
+     * Tests the predicate for entities sharing the same state, without a command.
+     *
+     * @return One result per request, in the order of the requests
+     */
+    List<Boolean> testAll(S state, List<R> requests);
+
+    /** Tests a single request as a batch of one; the command is ignored. */
+    @Override
+    default boolean test(S state, R request, C command) {
+        return testAll(state, Collections.singletonList(request)).get(0);
+    }
+}
@@ -0,0 +1,11 @@
+package com.libentity.core.action;
+
+/**
+ * One entry of a batch passed to {@link ActionExecutor#executeBatch}: the command to execute on an entity in the given
+ * state.
+ *
+ * @param <S> The type of state
+ * @param <R> The type of request
+ * @param <C> The type of command
+ */
+public record BatchItem<S, R, C>(S state, R request, C command) {}
@@ -0,0 +1,39 @@
+package com.libentity.core.action;
+
+import com.libentity.core.validation.ValidationError;
+import java.util.List;
+
+/**
+ * Outcome of one {@link BatchItem}: either the action result or the validation errors that rejected the action.
+ *
+ * @param item The executed item
+ * @param result The action result, null if the action was rejected
+ * @param errors The validation errors, empty if the action succeeded
+ * @param <S> The type of state
+ * @param <R> The type of request
+ * @param <C> The type of command
+ */
+public record BatchResult<S, R, C>(
+        BatchItem<S, R, C> item, ActionResult<S, R, C> result, List<ValidationError> errors) {
+
+    public static <S, R, C> BatchResult<S, R, C> success(BatchItem<S, R, C> item, ActionResult<S, R, C> result) {
+        return new BatchResult<>(item, result, List.of());
+    }
+
+    public static <S, R, C> BatchResult<S, R, C> failure(BatchItem<S, R, C> item, List<ValidationError> errors) {
+        return new BatchResult<>(item, null, errors);
+    }
+
+    /** The batch result for the outcome of executing the item. */
+    public static <S, R, C> BatchResult<S, R, C> of(BatchItem<S, R, C> item, ActionOutcome<S, R, C> outcome) {
+        if (outcome instanceof ActionOutcome.Success<S, R, C> success) {
+            return success(item, success.result());
+        }
+        return failure(item, outcome.errors());
+    }
+
+    /** Whether the action was executed without validation errors. */
+    public boolean succeeded() {
+        return errors.isEmpty();
+    }
+}
@@ -0,0 +1,102 @@
+package com.libentity.core.action;
+
+import com.libentity.core.persistence.VersionConflictException;
+import com.libentity.core.persistence.Versioned;
+import com.libentity.core.persistence.VersionedEntityStore;
+import com.libentity.core.validation.ValidationContext;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the {@code load -> execute -> save} cycle of an action against a {@link VersionedEntityStore}, retrying the
+ * whole cycle when the save hits a {@link VersionConflictException}.
+ *
+ * <p>Each attempt re-loads the entity and re-executes the action on the fresh state, so validators and handlers always
+ * see the latest saved entity. Between attempts the runner sleeps for an exponentially growing, jittered delay capped
+ * at {@code maxBackoff}. Once {@code maxAttempts} is reached the last conflict is rethrown. Validation errors are not
+ * retried.
+ *
+ * @param <E> Entity type
+ * @param <ID> Identifier type
+ * @param <S> The type of state
+ * @param <R> The type of request
+ */
+@Builder
+@Slf4j
+public class OptimisticActionRunner<E, ID, S, R> {
+    /**
+     * The store entities are loaded from and saved to.
+     */
+    private final VersionedEntityStore<E, ID> store;
+    /**
+     * The executor that performs the actions.
+     */
+    private final ActionExecutor<S, R> executor;
+    /**
+     * Extracts the current state from a loaded entity.
+     */
+    private final Function<E, S> stateOf;
+    /**
+     * Builds the action request from a loaded entity.
+     */
+    private final Function<E, R> requestOf;
+    /**
+     * Extracts the entity to save from the action result.
+     */
+    private final Function<ActionResult<S, R, ?>, E> entityOf;
+
+    @Builder.Default
+    private final int maxAttempts = 5;
+
+    @Builder.Default
+    private final Duration initialBackoff = Duration.ofMillis(10);
+
+    @Builder.Default
+    private final Duration maxBackoff = Duration.ofMillis(500);
+
+    /**
+     * Executes the command on the entity with the given id and saves the result.
+     *
+     * @return The saved entity with its new version
+     * @throws IllegalArgumentException if no entity exists for the id
+     * @throws com.libentity.core.validation.ValidationException if the action fails validation
+     * @throws VersionConflictException if every attempt conflicted
+     */
+    public <C> Versioned<E> run(ID id, C command) {
+        for (int attempt = 1; ; attempt++) {
+            Versioned<E> loaded = store.loadById(id);
+            if (loaded == null) {
+                throw new IllegalArgumentException("No entity found for id " + id);
+            }
+            E entity = loaded.entity();
+            ActionResult<S, R, C> result =
+                    executor.execute(stateOf.apply(entity), requestOf.apply(entity), new ValidationContext(), command);
+            E updated = entityOf.apply(result);
+            try {
+                return new Versioned<>(updated, store.save(id, updated, loaded.version()));
+            } catch (VersionConflictException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.debug("Version conflict on {} at attempt {}/{}, retrying", id, attempt, maxAttempts);
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    private void backoff(int attempt, VersionConflictException conflict) {
+        long cap = Math.min(maxBackoff.toNanos(), initialBackoff.toNanos() << Math.min(attempt - 1, 20));
+        if (cap <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(cap / 2, cap + 1)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.libentity.core.action;
+
+import com.google.common.util.concurrent.Striped;
+import com.libentity.core.validation.ValidationContext;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.Builder;
+
+/**
+ * ActionExecutor that serializes actions per entity while actions on unrelated entities run in parallel.
+ *
+ * <p>Entities are identified by a key, usually their id, and guarded by striped locks: a fixed number of reentrant
+ * locks shared by hashing the key. Two actions on the same key never overlap; two actions on different keys only wait
+ * for each other when their keys land on the same stripe.
+ *
+ * <p>{@link #execute} only guards the action itself. To guard the whole {@code load -> execute -> save} cycle, run it
+ * with {@link #runExclusively}:
+ *
+ * <pre>{@code
+ * Invoice saved = executor.runExclusively(invoiceId, () -> {
+ *     Invoice invoice = repository.loadById(invoiceId);
+ *     ActionResult<InvoiceState, InvoiceRequestContext, Submit> result =
+ *             executor.execute(invoice.getState(), new InvoiceRequestContext(invoice), ctx, command);
+ *     return repository.save(result.request().invoice());
+ * });
+ * }</pre>
+ *
+ * <p>The locks are reentrant, so calling {@link #execute} inside {@link #runExclusively} for the same key does not
+ * block. Locks are held in memory: this replaces database locks only when every writer of an entity goes through the
+ * same executor instance in the same process.
+ *
+ * @param <S> The type of state
+ * @param <R> The type of request
+ */
+public class SerializedActionExecutor<S, R> implements ActionExecutor<S, R> {
+    /** Number of stripes used when none is given. */
+    public static final int DEFAULT_STRIPES = 1024;
+
+    private final ActionExecutor<S, R> delegate;
+    private final Function<? super R, ?> keyExtractor;
+    private final Striped<Lock> locks;
+
+    /**
+     * Creates a serialized executor.
+     *
+     * @param delegate the executor that performs the actions, for example a {@link SyncActionExecutor}
+     * @param keyExtractor extracts the entity key from the request passed to {@link #execute}
+     * @param stripes the number of locks, {@link #DEFAULT_STRIPES} when null; more stripes means fewer unrelated
+     *     entities sharing a lock
+     */
+    @Builder
+    public SerializedActionExecutor(
+            ActionExecutor<S, R> delegate, Function<? super R, ?> keyExtractor, Integer stripes) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.keyExtractor = Objects.requireNonNull(keyExtractor, "keyExtractor");
+        this.locks = Striped.lazyWeakLock(stripes == null ? DEFAULT_STRIPES : stripes);
+    }
+
+    /**
+     * Runs the work while holding the lock of the given entity key, blocking until no other action or work holds it.
+     */
+    public <T> T runExclusively(Object key, Supplier<T> work) {
+        Lock lock = locks.get(Objects.requireNonNull(key, "key"));
+        lock.lock();
+        try {
+            return work.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Executes the action while holding the lock of the entity key extracted from the request. */
+    @Override
+    public <C> ActionResult<S, R, C> execute(S currentState, R request, ValidationContext ctx, C command) {
+        return runExclusively(keyExtractor.apply(request), () -> delegate.execute(currentState, request, ctx, command));
+    }
+
+    /** Executes the action while holding the lock of the entity key extracted from the request. */
+    @Override
+    public <C> ActionOutcome<S, R, C> tryExecute(S currentState, R request, ValidationContext ctx, C command) {
+        return runExclusively(
+                keyExtractor.apply(request), () -> delegate.tryExecute(currentState, request, ctx, command));
+    }
+
+    /** Delegated without locking, as it does not change the entity. */
+    @Override
+    public List<String> getAllowedActions(S currentState, R request) {
+        return delegate.getAllowedActions(currentState, request);
+    }
+
+    /** Delegated without locking, as it does not change the entities. */
+    @Override
+    public List<List<String>> getAllowedActions(List<StateRequest<S, R>> entities) {
+        return delegate.getAllowedActions(entities);
+    }
+}
@@ -0,0 +1,49 @@
+package com.libentity.core.action;
+
+import com.libentity.core.validation.ValidationError;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ActionTracer} that logs every step at debug level. Messages are only formatted when debug logging is enabled
+ * for this class.
+ *
+ * @param <S> The type of state
+ */
+@Slf4j
+public class Slf4jActionTracer<S> implements ActionTracer<S> {
+    @Override
+    public void actionStarted(String entityName, S state, String actionName) {
+        if (log.isDebugEnabled()) {
+            log.debug("{}/{}#{} - Executing action", entityName, state, actionName);
+        }
+    }
+
+    @Override
+    public void actionRejected(String entityName, S state, String actionName) {
+        if (log.isDebugEnabled()) {
+            log.debug("{}/{}#{} - Action not allowed", entityName, state, actionName);
+        }
+    }
+
+    @Override
+    public void actionFailed(String entityName, S state, String actionName, List<ValidationError> errors) {
+        if (log.isDebugEnabled()) {
+            log.debug("{}/{}#{} - Validation failed: {}", entityName, state, actionName, errors);
+        }
+    }
+
+    @Override
+    public void actionSucceeded(String entityName, S state, String actionName, S newState) {
+        if (log.isDebugEnabled()) {
+            log.debug("{}/{}#{} - Action executed. New state {}", entityName, state, actionName, newState);
+        }
+    }
+
+    @Override
+    public void batchStarted(String entityName, int size, boolean parallel) {
+        if (log.isDebugEnabled()) {
+            log.debug("Executing batch of {} commands for {} (parallel: {})", size, entityName, parallel);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.libentity.core.action;
+
+/**
+ * The state and request of one entity, as passed to {@link ActionExecutor#getAllowedActions(java.util.List)}.
+ *
+ * @param <S> The type of state
+ * @param <R> The type of request
+ */
+public record StateRequest<S, R>(S state, R request) {}
@@ -4,12 +4,12 @@ import com.libentity.core.entity.EntityType;
 import com.libentity.core.state.SingleChangeStateMutator;
 import com.libentity.core.state.StateMutator;
 import com.libentity.core.validation.ValidationContext;
+import com.libentity.core.validation.ValidationError;
 import com.libentity.core.validation.ValidationException;
 import java.util.List;
 import java.util.function.Function;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 
 /**
  * Synchronous implementation of ActionExecutor that executes actions immediately in the same thread.
@@ -19,7 +19,6 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Builder
 @RequiredArgsConstructor
-@Slf4j
 public class SyncActionExecutor<S, R> implements ActionExecutor<S, R> {
     /**
      * The entity type to execute actions on.
@@ -40,63 +39,124 @@ public class SyncActionExecutor<S, R> implements ActionExecutor<S, R> {
         throw new IllegalArgumentException("Command must implement ActionCommand");
     };
 
+    /**
+     * Receives the steps of every execution, see {@link Slf4jActionTracer} to log them. Records nothing by default.
+     */
+    @Builder.Default
+    private final ActionTracer<S> tracer = ActionTracer.noop();
+
     @Override
     public <C> ActionResult<S, R, C> execute(S currentState, R request, ValidationContext ctx, C command) {
-        log.debug(
-                "Trying to execute action for command {} - {} for {}",
-                command.getClass(),
-                currentState,
-                entityType.getName());
         String actionName = commandToActionResolver.apply(command);
-        log.debug("{}/{}#{} - Action name detected", entityType.getName(), currentState, actionName);
-        @SuppressWarnings("unchecked")
-        ActionDefinition<S, R, C> action =
-                (ActionDefinition<S, R, C>) entityType.getActions().get(actionName);
-        if (action == null) {
-            throw new IllegalArgumentException("No action defined for '" + actionName + "'");
+        ActionDefinition<S, R, C> action = resolveAction(actionName);
+        tracer.actionStarted(entityType.getName(), currentState, actionName);
+        if (!action.isAvailable(currentState, request, command)) {
+            tracer.actionRejected(entityType.getName(), currentState, actionName);
+            throw action.rejection();
         }
         StateMutator<S> stateHolder = stateMutatorSupplier.apply(currentState);
-        action.execute(currentState, request, command, ctx, stateHolder, entityType);
-        log.debug(
-                "{}/{}#{} Action executed. Has errors: {}",
-                entityType.getName(),
-                currentState,
-                actionName,
-                ctx.hasErrors());
+        try {
+            action.perform(currentState, request, command, ctx, stateHolder, entityType);
+        } catch (ValidationException e) {
+            // Rethrown as is, keeping the handler's or validator's exception type, cause and stack trace
+            tracer.actionFailed(entityType.getName(), currentState, actionName, e.getErrors());
+            throw e;
+        }
         if (ctx.hasErrors()) {
-            log.debug(
-                    "Action executed detected state before {} and after {} for {}",
-                    currentState,
-                    stateHolder.getState(),
-                    entityType.getName());
-            throw new ValidationException(ctx.getErrors());
+            List<ValidationError> errors = List.copyOf(ctx.getErrors());
+            tracer.actionFailed(entityType.getName(), currentState, actionName, errors);
+            throw new ValidationException(errors);
         }
-        log.debug(
-                "{}/{}#{} Returning result Action. New state {}",
-                entityType.getName(),
-                currentState,
-                actionName,
-                stateHolder.getState());
+        tracer.actionSucceeded(entityType.getName(), currentState, actionName, stateHolder.getState());
         return new ActionResult<>(stateHolder.getState(), request, command);
     }
 
+    /**
+     * Executes the action without throwing for rejections or validation failures: availability is checked up front
+     * and the errors are returned from the validation context.
+     */
+    @Override
+    public <C> ActionOutcome<S, R, C> tryExecute(S currentState, R request, ValidationContext ctx, C command) {
+        String actionName = commandToActionResolver.apply(command);
+        return tryExecute(resolveAction(actionName), actionName, currentState, request, ctx, command);
+    }
+
+    /**
+     * Executes the batch without going through exceptions: rejected items are reported from their outcome rather than
+     * thrown and caught.
+     */
     @Override
-    public List<String> getAllowedActions(S currentState, R request) {
-        return entityType.getActions().values().stream()
-                .filter(action -> {
-                    // Only allow if allowedStates contains currentState
-                    if (action.getAllowedStates() != null
-                            && !action.getAllowedStates().isEmpty()
-                            && !action.getAllowedStates().contains(currentState)) {
-                        return false;
-                    }
-                    // Only allow if onlyIf is null or returns true
-                    var onlyIf = action.getOnlyIf();
-                    if (onlyIf == null) return true;
-                    // Command is not available in this context, so pass null
-                    return onlyIf.test(currentState, request, null);
+    public <C> List<BatchResult<S, R, C>> executeBatch(List<BatchItem<S, R, C>> items, boolean parallel) {
+        tracer.batchStarted(entityType.getName(), items.size(), parallel);
+        return (parallel ? items.parallelStream() : items.stream())
+                .map(item -> {
+                    String actionName = commandToActionResolver.apply(item.command());
+                    return BatchResult.of(
+                            item,
+                            tryExecute(
+                                    resolveAction(actionName),
+                                    actionName,
+                                    item.state(),
+                                    item.request(),
+                                    new ValidationContext(),
+                                    item.command()));
                 })
-                .map(ActionDefinition::getName)
                 .toList();
     }
+
+    private <C> ActionOutcome<S, R, C> tryExecute(
+            ActionDefinition<S, R, C> action,
+            String actionName,
+            S currentState,
+            R request,
+            ValidationContext ctx,
+            C command) {
+        tracer.actionStarted(entityType.getName(), currentState, actionName);
+        if (!action.isAvailable(currentState, request, command)) {
+            tracer.actionRejected(entityType.getName(), currentState, actionName);
+            return new ActionOutcome.Rejected<>(action.rejectionErrors());
+        }
+        StateMutator<S> stateHolder = stateMutatorSupplier.apply(currentState);
+        ActionOutcome<S, R, C> failure = null;
+        try {
+            action.perform(currentState, request, command, ctx, stateHolder, entityType);
+            if (ctx.hasErrors()) {
+                failure = new ActionOutcome.ValidationFailed<>(List.copyOf(ctx.getErrors()));
+            }
+        } catch (ValidationException e) {
+            // Thrown by a handler or validator rather than reported through the context
+            failure = new ActionOutcome.ValidationFailed<>(e.getErrors());
+        }
+        if (failure != null) {
+            tracer.actionFailed(entityType.getName(), currentState, actionName, failure.errors());
+            return failure;
+        }
+        tracer.actionSucceeded(entityType.getName(), currentState, actionName, stateHolder.getState());
+        return new ActionOutcome.Success<>(new ActionResult<>(stateHolder.getState(), request, command));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <C> ActionDefinition<S, R, C> resolveAction(String actionName) {
+        ActionDefinition<S, R, C> action =
+                (ActionDefinition<S, R, C>) entityType.getActions().get(actionName);
+        if (action == null) {
+            throw new IllegalArgumentException("No action defined for '" + actionName + "'");
+        }
+        return action;
+    }
+
+    /** Looks the actions up in the entity type's per-state index, see {@link EntityType#allowedActions}. */
+    @Override
+    public List<String> getAllowedActions(S currentState, R request) {
+        return entityType.allowedActions(currentState, request);
+    }
+
+    /**
+     * Groups the entities by state and evaluates each onlyIf predicate once per group, see
+     * {@link EntityType#allowedActions(List)}.
+     */
+    @Override
+    public List<List<String>> getAllowedActions(List<StateRequest<S, R>> entities) {
+        return entityType.allowedActions(entities);
+    }
 }
@@ -0,0 +1,166 @@
+package com.libentity.core.entity;
+
+import com.libentity.core.action.ActionDefinition;
+import com.libentity.core.action.BatchActionAvailabilityPredicate;
+import com.libentity.core.action.StateRequest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Actions of an entity type indexed by the state they are available in. The index is compiled once when the entity
+ * type is created, so computing the allowed actions of a state only evaluates the {@code onlyIf} predicates of the
+ * actions admitted in that state. States without predicate-gated actions share a precomputed immutable list.
+ *
+ * <p>Actions keep the iteration order of the entity type's action map in every state.
+ *
+ * @param <S> The type of state
+ * @param <R> The type of request
+ */
+final class ActionAvailabilityIndex<S, R> {
+    private final StateMap<S, Availability<S, R>> byState;
+    /** Actions available in states that no action lists explicitly. */
+    private final Availability<S, R> otherStates;
+
+    private ActionAvailabilityIndex(StateMap<S, Availability<S, R>> byState, Availability<S, R> otherStates) {
+        this.byState = byState;
+        this.otherStates = otherStates;
+    }
+
+    /** Compile the given actions into an availability index. */
+    static <S, R> ActionAvailabilityIndex<S, R> compile(Collection<ActionDefinition<S, R, ?>> actions) {
+        List<S> states = new ArrayList<>();
+        for (ActionDefinition<S, R, ?> action : actions) {
+            if (action.getAllowedStates() != null) {
+                for (S state : action.getAllowedStates()) {
+                    if (!states.contains(state)) {
+                        states.add(state);
+                    }
+                }
+            }
+        }
+        StateMap<S, Availability<S, R>> byState = new StateMap<>(StateMap.enumTypeOf(states));
+        for (S state : states) {
+            byState.computeIfAbsent(
+                    state,
+                    () -> Availability.of(
+                            actions,
+                            action -> anyState(action)
+                                    || action.getAllowedStates().contains(state)));
+        }
+        return new ActionAvailabilityIndex<>(byState, Availability.of(actions, ActionAvailabilityIndex::anyState));
+    }
+
+    /** Names of the actions available in the given state, evaluating onlyIf without a command. */
+    List<String> allowedActions(S state, R request) {
+        return availability(state).allowedActions(state, request);
+    }
+
+    /**
+     * Names of the actions available to each entity, in the order of the entities. Entities are grouped by state and
+     * each onlyIf predicate is evaluated per group, once for all its requests when it is a
+     * {@link BatchActionAvailabilityPredicate}.
+     */
+    List<List<String>> allowedActions(List<StateRequest<S, R>> entities) {
+        Map<S, List<Integer>> rowsByState = new LinkedHashMap<>();
+        for (int row = 0; row < entities.size(); row++) {
+            rowsByState
+                    .computeIfAbsent(entities.get(row).state(), state -> new ArrayList<>())
+                    .add(row);
+        }
+        List<List<String>> allowed = new ArrayList<>(Collections.nCopies(entities.size(), null));
+        rowsByState.forEach((state, rows) -> {
+            List<R> requests = new ArrayList<>(rows.size());
+            for (int row : rows) {
+                requests.add(entities.get(row).request());
+            }
+            List<List<String>> groupAllowed = availability(state).allowedActions(state, requests);
+            for (int i = 0; i < rows.size(); i++) {
+                allowed.set(rows.get(i), groupAllowed.get(i));
+            }
+        });
+        return allowed;
+    }
+
+    private Availability<S, R> availability(S state) {
+        Availability<S, R> availability = byState.get(state);
+        return availability != null ? availability : otherStates;
+    }
+
+    /** A null or empty set of allowed states admits every state. */
+    private static boolean anyState(ActionDefinition<?, ?, ?> action) {
+        return action.getAllowedStates() == null || action.getAllowedStates().isEmpty();
+    }
+
+    /**
+     * The actions admitted in one state. {@code evaluated} is empty when no admitted action has an onlyIf predicate, in
+     * which case {@code names} is the answer for every request; otherwise it holds every admitted action.
+     */
+    private record Availability<S, R>(List<String> names, List<ActionDefinition<S, R, ?>> evaluated) {
+        static <S, R> Availability<S, R> of(
+                Collection<ActionDefinition<S, R, ?>> actions, Predicate<ActionDefinition<S, R, ?>> admitted) {
+            List<ActionDefinition<S, R, ?>> admittedActions = new ArrayList<>();
+            boolean anyGated = false;
+            for (ActionDefinition<S, R, ?> action : actions) {
+                if (admitted.test(action)) {
+                    admittedActions.add(action);
+                    anyGated |= action.getOnlyIf() != null;
+                }
+            }
+            List<String> names =
+                    admittedActions.stream().map(ActionDefinition::getName).toList();
+            return new Availability<>(names, anyGated ? List.copyOf(admittedActions) : List.of());
+        }
+
+        List<String> allowedActions(S state, R request) {
+            if (evaluated.isEmpty()) {
+                return names;
+            }
+            List<String> allowed = new ArrayList<>(evaluated.size());
+            for (ActionDefinition<S, R, ?> action : evaluated) {
+                var onlyIf = action.getOnlyIf();
+                // Command is not available in this context, so pass null
+                if (onlyIf == null || onlyIf.test(state, request, null)) {
+                    allowed.add(action.getName());
+                }
+            }
+            return allowed;
+        }
+
+        List<List<String>> allowedActions(S state, List<R> requests) {
+            if (evaluated.isEmpty()) {
+                return Collections.nCopies(requests.size(), names);
+            }
+            List<List<String>> allowed = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                allowed.add(new ArrayList<>(evaluated.size()));
+            }
+            for (ActionDefinition<S, R, ?> action : evaluated) {
+                var onlyIf = action.getOnlyIf();
+                if (onlyIf instanceof BatchActionAvailabilityPredicate<S, R, ?> batch) {
+                    List<Boolean> results = batch.testAll(state, requests);
+                    if (results.size() != requests.size()) {
+                        throw new IllegalStateException("Availability of action " + action.getName() + " returned "
+                                + results.size() + " results for " + requests.size() + " requests");
+                    }
+                    for (int i = 0; i < requests.size(); i++) {
+                        if (Boolean.TRUE.equals(results.get(i))) {
+                            allowed.get(i).add(action.getName());
+                        }
+                    }
+                    continue;
+                }
+                for (int i = 0; i < requests.size(); i++) {
+                    if (onlyIf == null || onlyIf.test(state, requests.get(i), null)) {
+                        allowed.get(i).add(action.getName());
+                    }
+                }
+            }
+            return allowed;
+        }
+    }
+}
@@ -2,12 +2,19 @@ package com.libentity.core.entity;
 
 import com.libentity.core.action.ActionBuilder;
 import com.libentity.core.action.ActionDefinition;
+import com.libentity.core.action.BatchActionAvailabilityPredicate;
+import com.libentity.core.action.StateRequest;
 import com.libentity.core.validation.ValidationContext;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 /**
@@ -21,20 +28,65 @@ public class EntityType<S, R> {
     private final String name;
     private final Map<String, FieldDefinition<?, S, R>> fields;
     private final Map<S, List<InStateValidator<S, R>>> inStateValidators;
+    /** Entity-level validators that run in every state, after those registered for the state. */
+    private final List<InStateValidator<S, R>> anyStateValidators;
+
     private final List<StateTransitionValidationEntry<S, R>> transitionValidators;
     private final Map<String, ActionDefinition<S, R, ?>> actions;
 
+    @Getter(AccessLevel.NONE)
+    private final ValidatorDispatchTable<S, R> validatorTable;
+
+    @Getter(AccessLevel.NONE)
+    private final ActionAvailabilityIndex<S, R> actionIndex;
+
+    @Getter(AccessLevel.NONE)
+    private final Executor validationExecutor;
+
+    public EntityType(
+            String name,
+            Map<String, FieldDefinition<?, S, R>> fields,
+            Map<S, List<InStateValidator<S, R>>> inStateValidators,
+            List<StateTransitionValidationEntry<S, R>> transitionValidators,
+            Map<String, ActionDefinition<S, R, ?>> actions) {
+        this(name, fields, inStateValidators, List.of(), transitionValidators, actions, null);
+    }
+
+    /** Creates an entity type whose entity-level {@code anyStateValidators} run in every state. */
     public EntityType(
             String name,
             Map<String, FieldDefinition<?, S, R>> fields,
             Map<S, List<InStateValidator<S, R>>> inStateValidators,
+            List<InStateValidator<S, R>> anyStateValidators,
             List<StateTransitionValidationEntry<S, R>> transitionValidators,
             Map<String, ActionDefinition<S, R, ?>> actions) {
+        this(name, fields, inStateValidators, anyStateValidators, transitionValidators, actions, null);
+    }
+
+    /**
+     * Creates an entity type.
+     *
+     * @param validationExecutor runs validators concurrently when not null; see
+     *     {@link EntityTypeBuilder#parallelValidation(Executor)}
+     */
+    public EntityType(
+            String name,
+            Map<String, FieldDefinition<?, S, R>> fields,
+            Map<S, List<InStateValidator<S, R>>> inStateValidators,
+            List<InStateValidator<S, R>> anyStateValidators,
+            List<StateTransitionValidationEntry<S, R>> transitionValidators,
+            Map<String, ActionDefinition<S, R, ?>> actions,
+            Executor validationExecutor) {
         this.name = name;
         this.fields = fields;
         this.inStateValidators = inStateValidators;
+        this.anyStateValidators = anyStateValidators;
         this.transitionValidators = transitionValidators;
         this.actions = actions;
+        this.validatorTable = ValidatorDispatchTable.compile(
+                fields.values(), inStateValidators, anyStateValidators, transitionValidators);
+        this.actionIndex = ActionAvailabilityIndex.compile(actions.values());
+        this.validationExecutor = validationExecutor;
     }
 
     /** Start building a new entity type. */
@@ -42,36 +94,90 @@ public class EntityType<S, R> {
         return new EntityTypeBuilder<>(name);
     }
 
-    /** Validate the entity in a specific state. */
+    /**
+     * Names of the actions available in the given state: those whose allowed states admit it and whose
+     * {@code onlyIf} predicate, if any, accepts the request. Predicates are evaluated without a command. Actions are
+     * indexed by state when the entity type is created, so only predicate-gated actions are evaluated per call, and
+     * states without any share one immutable list.
+     */
+    public List<String> allowedActions(S state, R request) {
+        return actionIndex.allowedActions(state, request);
+    }
+
+    /**
+     * Names of the actions available to each entity, in the order of the entities. Entities are grouped by state, so
+     * each {@code onlyIf} predicate is evaluated per group; a {@link BatchActionAvailabilityPredicate} decides for the
+     * whole group in one call.
+     */
+    public List<List<String>> allowedActions(List<StateRequest<S, R>> entities) {
+        return actionIndex.allowedActions(entities);
+    }
+
+    /**
+     * Validate the entity in a specific state. Field validators run first, followed by entity-level validators, each
+     * in registration order, until the context reaches its error limit.
+     */
     public void validateState(S state, R request, ValidationContext ctx) {
-        // Validate fields first
-        for (FieldDefinition<?, S, R> field : fields.values()) {
-            field.validateInState(state, request, ctx);
+        List<InStateValidator<S, R>> validators = validatorTable.inState(state);
+        if (validationExecutor != null && validators.size() > 1) {
+            validateInParallel(validators, (validator, sink) -> validator.validate(state, request, sink), ctx);
+            return;
         }
-
-        // Then run state validators
-        // TODO Should we support state validators at entity level?
-        List<InStateValidator<S, R>> validators = inStateValidators.get(state);
-        if (validators != null) {
-            for (InStateValidator<S, R> validator : validators) {
-                validator.validate(state, request, ctx);
+        for (InStateValidator<S, R> validator : validators) {
+            if (ctx.isLimitReached()) {
+                return;
             }
+            validator.validate(state, request, ctx);
         }
     }
 
-    /** Validate a state transition. */
+    /**
+     * Validate a state transition. Field validators run first, followed by entity-level validators, each in
+     * registration order, until the context reaches its error limit.
+     */
     public void validateTransition(S fromState, S toState, R request, ValidationContext ctx) {
-        // Validate field transitions first
-        for (FieldDefinition<?, S, R> field : fields.values()) {
-            field.validateStateTransition(fromState, toState, request, ctx);
+        List<StateTransitionValidator<S, R>> validators = validatorTable.transition(fromState, toState);
+        if (validationExecutor != null && validators.size() > 1) {
+            validateInParallel(
+                    validators, (validator, sink) -> validator.validate(fromState, toState, request, sink), ctx);
+            return;
+        }
+        for (StateTransitionValidator<S, R> validator : validators) {
+            if (ctx.isLimitReached()) {
+                return;
+            }
+            validator.validate(fromState, toState, request, ctx);
         }
+    }
 
-        // Then run transition validators
-        // TODO Should we support transition validators at entity level?
-        for (StateTransitionValidationEntry<S, R> entry : transitionValidators) {
-            if (entry.getFromState().equals(fromState) && entry.getToState().equals(toState)) {
-                entry.getValidator().validate(fromState, toState, request, ctx);
+    /**
+     * Run every validator concurrently on the validation executor. Each validator gets its own context, only touched
+     * by the thread running it, and the contexts are merged into {@code ctx} in registration order once all validators
+     * finished, so errors come out in the same order as with sequential validation.
+     */
+    private <V> void validateInParallel(
+            List<V> validators, BiConsumer<V, ValidationContext> validation, ValidationContext ctx) {
+        List<ValidationContext> sinks = new ArrayList<>(validators.size());
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[validators.size()];
+        for (int i = 0; i < validators.size(); i++) {
+            V validator = validators.get(i);
+            ValidationContext sink = new ValidationContext();
+            sinks.add(sink);
+            futures[i] = CompletableFuture.runAsync(() -> validation.accept(validator, sink), validationExecutor);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
             }
+            throw e;
+        }
+        for (ValidationContext sink : sinks) {
+            ctx.merge(sink);
         }
     }
 
@@ -80,8 +186,10 @@ public class EntityType<S, R> {
         private final String name;
         private final Map<String, FieldDefinition<?, S, R>> fields = new HashMap<>();
         private final Map<S, List<InStateValidator<S, R>>> inStateValidators = new HashMap<>();
+        private final List<InStateValidator<S, R>> anyStateValidators = new ArrayList<>();
         private final List<StateTransitionValidationEntry<S, R>> transitionValidators = new ArrayList<>();
         private final Map<String, ActionDefinition<S, R, ?>> actions = new HashMap<>();
+        private Executor validationExecutor;
 
         private EntityTypeBuilder(String name) {
             this.name = name;
@@ -101,6 +209,12 @@ public class EntityType<S, R> {
             return this;
         }
 
+        /** Add a validator that runs in every state, after the validators registered for the state. */
+        public EntityTypeBuilder<S, R> validateInAnyState(InStateValidator<S, R> validator) {
+            anyStateValidators.add(validator);
+            return this;
+        }
+
         /** Add a validator for state transitions. */
         public EntityTypeBuilder<S, R> validateTransition(
                 S fromState, S toState, StateTransitionValidator<S, R> validator) {
@@ -116,14 +230,31 @@ public class EntityType<S, R> {
             return this;
         }
 
-        /** Build the entity type. */
+        /**
+         * Run the validators of a state or transition concurrently on the given executor, for example
+         * {@code Executors.newVirtualThreadPerTaskExecutor()} when validators do I/O. Validation then takes as long
+         * as the slowest validator instead of the sum of all of them. Validators must not depend on each other's
+         * errors; each one receives its own {@link ValidationContext} and the errors are merged in registration
+         * order.
+         */
+        public EntityTypeBuilder<S, R> parallelValidation(Executor executor) {
+            this.validationExecutor = executor;
+            return this;
+        }
+
+        /**
+         * Build the entity type. Validators are compiled into per-state and per-transition lookup tables, so
+         * validation only visits the validators that apply.
+         */
         public EntityType<S, R> build() {
             return new EntityType<>(
                     name,
                     new HashMap<>(fields),
                     new HashMap<>(inStateValidators),
+                    new ArrayList<>(anyStateValidators),
                     new ArrayList<>(transitionValidators),
-                    new HashMap<>(actions));
+                    new HashMap<>(actions),
+                    validationExecutor);
         }
     }
 }
@@ -25,6 +25,12 @@ public class FieldBuilder<V, S, R> {
         return this;
     }
 
+    /** Add a validator that runs in every state. */
+    public FieldBuilder<V, S, R> validateInAnyState(InStateValidator<S, R> validator) {
+        inStateValidators.add(InStateValidationEntry.anyState(validator));
+        return this;
+    }
+
     /** Add a validator for a specific state transition. */
     public FieldBuilder<V, S, R> validateStateTransition(
             S fromState, S toState, StateTransitionValidator<S, R> validator) {
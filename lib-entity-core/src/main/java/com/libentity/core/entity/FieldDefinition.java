@@ -26,7 +26,7 @@ public class FieldDefinition<V, S, R> {
     /** Validate the field value in the given state. */
     public void validateInState(S state, R request, ValidationContext ctx) {
         for (InStateValidationEntry<S, R> entry : inStateValidators) {
-            if (entry.getTargetState().equals(state)) {
+            if (entry.appliesTo(state)) {
                 entry.getValidator().validate(state, request, ctx);
             }
         }
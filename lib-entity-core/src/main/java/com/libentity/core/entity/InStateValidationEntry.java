@@ -1,10 +1,33 @@
 package com.libentity.core.entity;
 
+import java.util.Objects;
 import lombok.Value;
 
-/** A validator that runs when an entity enters a specific state. */
+/** A validator that runs when an entity enters a specific state, or in every state when created with {@link #anyState}. */
 @Value
 public class InStateValidationEntry<S, R> {
     S targetState;
     InStateValidator<S, R> validator;
+    boolean anyState;
+
+    /** Creates an entry for validations in the given state. */
+    public InStateValidationEntry(S targetState, InStateValidator<S, R> validator) {
+        this(targetState, validator, false);
+    }
+
+    private InStateValidationEntry(S targetState, InStateValidator<S, R> validator, boolean anyState) {
+        this.targetState = targetState;
+        this.validator = validator;
+        this.anyState = anyState;
+    }
+
+    /** Creates an entry whose validator runs in every state. */
+    public static <S, R> InStateValidationEntry<S, R> anyState(InStateValidator<S, R> validator) {
+        return new InStateValidationEntry<>(null, validator, true);
+    }
+
+    /** Whether the validator runs when an entity is in the given state. */
+    public boolean appliesTo(S state) {
+        return anyState || Objects.equals(targetState, state);
+    }
 }
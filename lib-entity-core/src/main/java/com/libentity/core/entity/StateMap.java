@@ -0,0 +1,63 @@
+package com.libentity.core.entity;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Map keyed by entity state. Backed by an {@link EnumMap} when the states are constants of a single enum, and by a
+ * {@link HashMap} otherwise. A {@code null} state is supported as a key in both cases, since actions such as
+ * "create" run before the entity has a state.
+ *
+ * @param <S> The type of state
+ * @param <V> The type of value
+ */
+final class StateMap<S, V> {
+    private final Map<S, V> values;
+    private V nullStateValue;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    StateMap(Class<?> enumType) {
+        this.values = enumType != null ? new EnumMap(enumType) : new HashMap<>();
+    }
+
+    /** Returns the value for the given state, or null if there is none. */
+    V get(S state) {
+        return state == null ? nullStateValue : values.get(state);
+    }
+
+    /** Returns the value for the given state, creating it with the factory if absent. */
+    V computeIfAbsent(S state, Supplier<V> factory) {
+        if (state == null) {
+            if (nullStateValue == null) {
+                nullStateValue = factory.get();
+            }
+            return nullStateValue;
+        }
+        return values.computeIfAbsent(state, k -> factory.get());
+    }
+
+    /**
+     * Returns the enum class shared by all given states, or null when any of them is not an enum constant of that
+     * class. Null states are ignored.
+     */
+    static Class<?> enumTypeOf(Iterable<?> states) {
+        Class<?> enumType = null;
+        for (Object state : states) {
+            if (state == null) {
+                continue;
+            }
+            if (!(state instanceof Enum<?> constant)) {
+                return null;
+            }
+            Class<?> declaringClass = constant.getDeclaringClass();
+            if (enumType == null) {
+                enumType = declaringClass;
+            } else if (enumType != declaringClass) {
+                return null;
+            }
+        }
+        return enumType;
+    }
+}
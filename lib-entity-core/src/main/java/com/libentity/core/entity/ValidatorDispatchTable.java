@@ -0,0 +1,110 @@
+package com.libentity.core.entity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validators of an entity type indexed by the state or transition they apply to. The table is compiled once when the
+ * entity type is created, so validating a state only touches the validators registered for it.
+ *
+ * <p>For every state (or pair of states) the validators keep the original execution order: field validators first,
+ * in field order, followed by entity-level validators, those registered for the state before those for any state.
+ *
+ * @param <S> The type of state
+ * @param <R> The type of request
+ */
+final class ValidatorDispatchTable<S, R> {
+    private final StateMap<S, List<InStateValidator<S, R>>> inStateValidators;
+    /** Validators that run in every state, including states no validator lists explicitly. */
+    private final List<InStateValidator<S, R>> anyStateValidators = new ArrayList<>();
+
+    private final List<S> states;
+    private final StateMap<S, StateMap<S, List<StateTransitionValidator<S, R>>>> transitionValidators;
+    private final Class<?> enumType;
+
+    private ValidatorDispatchTable(List<S> states) {
+        this.states = new ArrayList<>(new LinkedHashSet<>(states));
+        this.enumType = StateMap.enumTypeOf(states);
+        this.inStateValidators = new StateMap<>(enumType);
+        this.transitionValidators = new StateMap<>(enumType);
+    }
+
+    /** Compile the validators of the given fields and entity-level validators into a dispatch table. */
+    static <S, R> ValidatorDispatchTable<S, R> compile(
+            Collection<FieldDefinition<?, S, R>> fields,
+            Map<S, List<InStateValidator<S, R>>> inStateValidators,
+            List<InStateValidator<S, R>> anyStateValidators,
+            List<StateTransitionValidationEntry<S, R>> transitionValidators) {
+        List<S> states = new ArrayList<>(inStateValidators.keySet());
+        for (FieldDefinition<?, S, R> field : fields) {
+            for (InStateValidationEntry<S, R> entry : field.getInStateValidators()) {
+                if (!entry.isAnyState()) {
+                    states.add(entry.getTargetState());
+                }
+            }
+            for (StateTransitionValidationEntry<S, R> entry : field.getStateTransitionValidators()) {
+                states.add(entry.getFromState());
+                states.add(entry.getToState());
+            }
+        }
+        for (StateTransitionValidationEntry<S, R> entry : transitionValidators) {
+            states.add(entry.getFromState());
+            states.add(entry.getToState());
+        }
+
+        ValidatorDispatchTable<S, R> table = new ValidatorDispatchTable<>(states);
+        for (FieldDefinition<?, S, R> field : fields) {
+            for (InStateValidationEntry<S, R> entry : field.getInStateValidators()) {
+                if (entry.isAnyState()) {
+                    table.addAnyState(entry.getValidator());
+                } else {
+                    table.addInState(entry.getTargetState(), entry.getValidator());
+                }
+            }
+            for (StateTransitionValidationEntry<S, R> entry : field.getStateTransitionValidators()) {
+                table.addTransition(entry.getFromState(), entry.getToState(), entry.getValidator());
+            }
+        }
+        inStateValidators.forEach((state, validators) -> validators.forEach(v -> table.addInState(state, v)));
+        anyStateValidators.forEach(table::addAnyState);
+        for (StateTransitionValidationEntry<S, R> entry : transitionValidators) {
+            table.addTransition(entry.getFromState(), entry.getToState(), entry.getValidator());
+        }
+        return table;
+    }
+
+    /** Validators to run when an entity is in the given state. */
+    List<InStateValidator<S, R>> inState(S state) {
+        List<InStateValidator<S, R>> validators = inStateValidators.get(state);
+        return validators != null ? validators : anyStateValidators;
+    }
+
+    /** Validators to run when an entity moves from one state to another. */
+    List<StateTransitionValidator<S, R>> transition(S fromState, S toState) {
+        StateMap<S, List<StateTransitionValidator<S, R>>> byTarget = transitionValidators.get(fromState);
+        List<StateTransitionValidator<S, R>> validators = byTarget != null ? byTarget.get(toState) : null;
+        return validators != null ? validators : List.of();
+    }
+
+    private void addInState(S state, InStateValidator<S, R> validator) {
+        inStateValidators.computeIfAbsent(state, ArrayList::new).add(validator);
+    }
+
+    // Appended to every known state in registration order; other states fall back to the any-state list
+    private void addAnyState(InStateValidator<S, R> validator) {
+        for (S state : states) {
+            addInState(state, validator);
+        }
+        anyStateValidators.add(validator);
+    }
+
+    private void addTransition(S fromState, S toState, StateTransitionValidator<S, R> validator) {
+        transitionValidators
+                .computeIfAbsent(fromState, () -> new StateMap<>(enumType))
+                .computeIfAbsent(toState, ArrayList::new)
+                .add(validator);
+    }
+}
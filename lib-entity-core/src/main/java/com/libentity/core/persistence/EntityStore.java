@@ -1,5 +1,9 @@
 package com.libentity.core.persistence;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
 /**
  * Basic abstraction for loading and saving entities.
  *
@@ -22,4 +26,25 @@ public interface EntityStore<E, ID> {
      * @param entity Entity to save
      */
     void save(E entity);
+
+    /**
+     * Loads all entities with the given identifiers. The default implementation calls {@link #loadById} for each
+     * identifier; stores should override it to load them in a single round trip.
+     *
+     * @param ids Identifiers of the entities
+     * @return The loaded entities, in no particular order, skipping identifiers that were not found
+     */
+    default List<E> loadAll(Collection<ID> ids) {
+        return ids.stream().map(this::loadById).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Saves all the given entities. The default implementation calls {@link #save} for each entity; stores should
+     * override it to save them in as few round trips as possible.
+     *
+     * @param entities Entities to save
+     */
+    default void saveAll(Collection<E> entities) {
+        entities.forEach(this::save);
+    }
 }
@@ -1,7 +1,20 @@
 package com.libentity.core.persistence;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface FilterStore<E, F> {
     List<E> findByFilter(F filter);
+
+    /**
+     * Streams the entities matching the filter. Stores backed by a database should override this to fetch and map
+     * rows incrementally, so exports of large result sets do not hold every entity in memory. The default
+     * implementation streams the result of {@link #findByFilter}.
+     * <p>
+     * The stream may hold an open cursor and connection: always close it, for example with try-with-resources.
+     * </p>
+     */
+    default Stream<E> stream(F filter) {
+        return findByFilter(filter).stream();
+    }
 }
@@ -0,0 +1,23 @@
+package com.libentity.core.persistence;
+
+/**
+ * Thrown by {@link VersionedEntityStore#save} when the entity was changed by someone else since it was loaded.
+ */
+public class VersionConflictException extends RuntimeException {
+    private final Object id;
+    private final long expectedVersion;
+
+    public VersionConflictException(Object id, long expectedVersion) {
+        super("Version conflict for entity " + id + ": expected version " + expectedVersion);
+        this.id = id;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+}
@@ -0,0 +1,10 @@
+package com.libentity.core.persistence;
+
+/**
+ * An entity together with the version it was loaded or saved at.
+ *
+ * @param entity The entity
+ * @param version The version of the entity, incremented by the store on every save
+ * @param <E> Entity type
+ */
+public record Versioned<E>(E entity, long version) {}
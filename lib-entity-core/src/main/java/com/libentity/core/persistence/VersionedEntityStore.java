@@ -0,0 +1,31 @@
+package com.libentity.core.persistence;
+
+/**
+ * Loads and saves entities with optimistic concurrency control. Every save states the version the entity was loaded
+ * at and fails if the stored entity has moved on, so concurrent writers never overwrite each other without holding
+ * locks. With SQL this is typically {@code UPDATE ... SET version = version + 1 WHERE id = ? AND version = ?}.
+ *
+ * @param <E> Entity type
+ * @param <ID> Identifier type
+ */
+public interface VersionedEntityStore<E, ID> {
+
+    /**
+     * Loads an entity and its current version.
+     *
+     * @param id Identifier of the entity
+     * @return The loaded entity with its version or null if not found
+     */
+    Versioned<E> loadById(ID id);
+
+    /**
+     * Saves the given entity if it is still at the expected version.
+     *
+     * @param id Identifier of the entity
+     * @param entity Entity to save
+     * @param expectedVersion The version the entity was loaded at
+     * @return The new version of the entity
+     * @throws VersionConflictException if the stored entity is no longer at the expected version
+     */
+    long save(ID id, E entity, long expectedVersion);
+}
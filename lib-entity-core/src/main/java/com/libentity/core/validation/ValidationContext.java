@@ -1,31 +1,96 @@
 package com.libentity.core.validation;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import lombok.Getter;
 
-/** Context for collecting validation errors during entity validation. */
+/**
+ * Context for collecting validation errors during entity validation.
+ *
+ * <p>The error list is only allocated when the first error is added, so validation that passes allocates nothing
+ * beyond the context itself. A context is not thread-safe; a thread can reuse one for many validations by calling
+ * {@link #reset()} in between.
+ *
+ * <p>A context created with {@link #failFast()} or {@link #withMaxErrors(int)} ignores errors past its limit, and
+ * entity types stop running validators once {@link #isLimitReached()}.
+ */
 public class ValidationContext {
-    @Getter
-    private final List<ValidationError> errors = new ArrayList<>();
+    private final int maxErrors;
+    private List<ValidationError> errors;
+    /** Read-only view of {@link #errors}, created with it. */
+    private List<ValidationError> errorsView = Collections.emptyList();
+
+    /** Creates a context that collects every error. */
+    public ValidationContext() {
+        this(Integer.MAX_VALUE);
+    }
+
+    private ValidationContext(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
+
+    /** Creates a context that keeps only the first error, so validation stops as soon as one validator fails. */
+    public static ValidationContext failFast() {
+        return new ValidationContext(1);
+    }
+
+    /** Creates a context that keeps at most {@code maxErrors} errors and stops validation once it has them. */
+    public static ValidationContext withMaxErrors(int maxErrors) {
+        if (maxErrors <= 0) {
+            throw new IllegalArgumentException("maxErrors must be positive: " + maxErrors);
+        }
+        return new ValidationContext(maxErrors);
+    }
 
     /** Add a validation error with a code and message. */
     public void addError(String code, String message) {
-        errors.add(ValidationError.builder().code(code).defaultMessage(message).build());
+        add(new ValidationError(code, message, null));
     }
 
     /** Add a validation error with parameters. */
     public void addError(String code, String message, Map<String, Object> parameters) {
-        errors.add(ValidationError.builder()
-                .code(code)
-                .defaultMessage(message)
-                .parameters(parameters)
-                .build());
+        add(new ValidationError(code, message, parameters));
+    }
+
+    /** Add all errors collected by another context, keeping their order. */
+    public void merge(ValidationContext other) {
+        if (other.errors != null) {
+            for (ValidationError error : other.errors) {
+                add(error);
+            }
+        }
+    }
+
+    /** The errors collected so far, in the order they were added, as an unmodifiable view. */
+    public List<ValidationError> getErrors() {
+        return errorsView;
     }
 
     /** Check if there are any validation errors. */
     public boolean hasErrors() {
-        return !errors.isEmpty();
+        return errors != null && !errors.isEmpty();
+    }
+
+    /** Whether the context holds as many errors as it keeps, so running further validators is pointless. */
+    public boolean isLimitReached() {
+        return errors != null && errors.size() >= maxErrors;
+    }
+
+    /** Remove all errors so the context can be reused, keeping the allocated storage. */
+    public void reset() {
+        if (errors != null) {
+            errors.clear();
+        }
+    }
+
+    private void add(ValidationError error) {
+        if (errors == null) {
+            errors = new ArrayList<>(Math.min(maxErrors, 4));
+            errorsView = Collections.unmodifiableList(errors);
+        } else if (errors.size() >= maxErrors) {
+            return;
+        }
+        errors.add(error);
     }
 }
@@ -7,7 +7,21 @@ public class ValidationException extends RuntimeException {
 
     public ValidationException(List<ValidationError> errors) {
         super("Validation failed: " + errors);
-        this.errors = errors;
+        // Copied, as the errors may come from a context that is reset and reused
+        this.errors = List.copyOf(errors);
+    }
+
+    private ValidationException(List<ValidationError> errors, boolean writableStackTrace) {
+        super("Validation failed: " + errors, null, false, writableStackTrace);
+        this.errors = List.copyOf(errors);
+    }
+
+    /**
+     * Creates an exception without a stack trace, which makes throwing it about as cheap as returning a value. It
+     * holds no per-call state, so one instance can be created up front and thrown for every identical rejection.
+     */
+    public static ValidationException stackless(List<ValidationError> errors) {
+        return new ValidationException(errors, false);
     }
 
     public List<ValidationError> getErrors() {
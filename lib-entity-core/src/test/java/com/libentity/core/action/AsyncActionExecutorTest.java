@@ -0,0 +1,82 @@
+package com.libentity.core.action;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.libentity.core.entity.EntityType;
+import com.libentity.core.validation.ValidationContext;
+import com.libentity.core.validation.ValidationException;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class AsyncActionExecutorTest {
+    enum State {
+        DRAFT,
+        SUBMITTED
+    }
+
+    record Submit(String actionName) implements ActionCommand {
+        @Override
+        public String getActionName() {
+            return actionName;
+        }
+    }
+
+    private final AtomicReference<Thread> handlerThread = new AtomicReference<>();
+
+    private final EntityType<State, Integer> entityType = EntityType.<State, Integer>builder("Test")
+            .<Submit>action(
+                    "submit", a -> a.allowedStates(Set.of(State.DRAFT)).handler((state, request, command, mutator) -> {
+                        handlerThread.set(Thread.currentThread());
+                        mutator.setState(State.SUBMITTED);
+                    }))
+            .validateInState(State.SUBMITTED, (state, request, ctx) -> {
+                if (request < 0) {
+                    ctx.addError("NEGATIVE", "Amount must not be negative");
+                }
+            })
+            .build();
+
+    private final AsyncActionExecutor<State, Integer> executor = AsyncActionExecutor.<State, Integer>builder()
+            .delegate(SyncActionExecutor.<State, Integer>builder()
+                    .entityType(entityType)
+                    .build())
+            .build();
+
+    @Test
+    void executesOnVirtualThread() {
+        ActionResult<State, Integer, Submit> result = executor.executeAsync(
+                        State.DRAFT, 10, new ValidationContext(), new Submit("submit"))
+                .join();
+
+        assertThat(result.state()).isEqualTo(State.SUBMITTED);
+        assertThat(handlerThread.get().isVirtual()).isTrue();
+        assertThat(executor.getAllowedActionsAsync(State.DRAFT, 10).join()).containsExactly("submit");
+    }
+
+    @Test
+    void completesExceptionallyOnValidationErrors() {
+        ValidationContext ctx = new ValidationContext();
+        var future = executor.executeAsync(State.DRAFT, -1, ctx, new Submit("submit"));
+
+        assertThatThrownBy(future::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(ValidationException.class);
+        assertThat(ctx.getErrors()).extracting("code").containsExactly("NEGATIVE");
+    }
+
+    @Test
+    void tryExecuteAsyncCompletesWithTheOutcome() {
+        ActionOutcome<State, Integer, Submit> failed = executor.tryExecuteAsync(
+                        State.DRAFT, -1, new ValidationContext(), new Submit("submit"))
+                .join();
+        ActionOutcome<State, Integer, Submit> rejected = executor.tryExecuteAsync(
+                        State.SUBMITTED, 10, new ValidationContext(), new Submit("submit"))
+                .join();
+
+        assertThat(failed).isInstanceOf(ActionOutcome.ValidationFailed.class);
+        assertThat(failed.errors()).extracting("code").containsExactly("NEGATIVE");
+        assertThat(rejected).isInstanceOf(ActionOutcome.Rejected.class);
+    }
+}
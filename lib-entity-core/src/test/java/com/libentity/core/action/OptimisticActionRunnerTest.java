@@ -0,0 +1,119 @@
+package com.libentity.core.action;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.libentity.core.entity.EntityType;
+import com.libentity.core.persistence.VersionConflictException;
+import com.libentity.core.persistence.Versioned;
+import com.libentity.core.persistence.VersionedEntityStore;
+import com.libentity.core.validation.ValidationException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class OptimisticActionRunnerTest {
+    enum State {
+        DRAFT,
+        APPROVED
+    }
+
+    record Approve(String actionName) implements ActionCommand {
+        @Override
+        public String getActionName() {
+            return actionName;
+        }
+    }
+
+    record Document(State state, int approvals) {}
+
+    /** In-memory store that lets a simulated concurrent writer win the next {@code conflicts} saves. */
+    static class InMemoryStore implements VersionedEntityStore<Document, String> {
+        final Map<String, Versioned<Document>> rows = new HashMap<>();
+        final AtomicInteger loads = new AtomicInteger();
+        int conflicts;
+
+        @Override
+        public Versioned<Document> loadById(String id) {
+            loads.incrementAndGet();
+            return rows.get(id);
+        }
+
+        @Override
+        public long save(String id, Document entity, long expectedVersion) {
+            Versioned<Document> current = rows.get(id);
+            if (conflicts > 0) {
+                conflicts--;
+                Document concurrent =
+                        new Document(current.entity().state(), current.entity().approvals() + 1);
+                rows.put(id, new Versioned<>(concurrent, current.version() + 1));
+            }
+            if (rows.get(id).version() != expectedVersion) {
+                throw new VersionConflictException(id, expectedVersion);
+            }
+            rows.put(id, new Versioned<>(entity, expectedVersion + 1));
+            return expectedVersion + 1;
+        }
+    }
+
+    private final InMemoryStore store = new InMemoryStore();
+
+    private final EntityType<State, Document> entityType = EntityType.<State, Document>builder("Document")
+            .<Approve>action("approve", a -> a.allowedStates(Set.of(State.DRAFT))
+                    .handler((state, request, command, mutator) -> mutator.setState(State.APPROVED)))
+            .validateTransition(State.DRAFT, State.APPROVED, (from, to, request, ctx) -> {
+                if (request.approvals() > 5) {
+                    ctx.addError("TOO_MANY", "Too many approvals");
+                }
+            })
+            .build();
+
+    private final OptimisticActionRunner<Document, String, State, Document> runner =
+            OptimisticActionRunner.<Document, String, State, Document>builder()
+                    .store(store)
+                    .executor(SyncActionExecutor.<State, Document>builder()
+                            .entityType(entityType)
+                            .build())
+                    .stateOf(Document::state)
+                    .requestOf(document -> document)
+                    .entityOf(result ->
+                            new Document(result.state(), result.request().approvals()))
+                    .maxAttempts(3)
+                    .initialBackoff(Duration.ZERO)
+                    .build();
+
+    @Test
+    void retriesOnConflictWithTheLatestEntity() {
+        store.rows.put("doc-1", new Versioned<>(new Document(State.DRAFT, 0), 1));
+        store.conflicts = 2;
+
+        Versioned<Document> saved = runner.run("doc-1", new Approve("approve"));
+
+        assertThat(store.loads.get()).isEqualTo(3);
+        assertThat(saved).isEqualTo(new Versioned<>(new Document(State.APPROVED, 2), 4));
+        assertThat(store.rows.get("doc-1")).isEqualTo(saved);
+    }
+
+    @Test
+    void rethrowsConflictAfterMaxAttempts() {
+        store.rows.put("doc-1", new Versioned<>(new Document(State.DRAFT, 0), 1));
+        store.conflicts = 3;
+
+        assertThatThrownBy(() -> runner.run("doc-1", new Approve("approve")))
+                .isInstanceOf(VersionConflictException.class)
+                .hasMessage("Version conflict for entity doc-1: expected version 3");
+        assertThat(store.loads.get()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotRetryValidationErrors() {
+        store.rows.put("doc-1", new Versioned<>(new Document(State.DRAFT, 6), 1));
+
+        assertThatThrownBy(() -> runner.run("doc-1", new Approve("approve"))).isInstanceOf(ValidationException.class);
+        assertThat(store.loads.get()).isEqualTo(1);
+        assertThatThrownBy(() -> runner.run("missing", new Approve("approve")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
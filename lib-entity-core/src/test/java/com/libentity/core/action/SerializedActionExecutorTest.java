@@ -0,0 +1,102 @@
+package com.libentity.core.action;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.libentity.core.entity.EntityType;
+import com.libentity.core.validation.ValidationContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SerializedActionExecutorTest {
+    enum State {
+        DRAFT,
+        SUBMITTED
+    }
+
+    record Submit(String actionName) implements ActionCommand {
+        @Override
+        public String getActionName() {
+            return actionName;
+        }
+    }
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    private final EntityType<State, String> entityType = EntityType.<State, String>builder("Test")
+            .<Submit>action(
+                    "submit", a -> a.allowedStates(Set.of(State.DRAFT)).handler((state, request, command, mutator) -> {
+                        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                        Thread.yield();
+                        running.decrementAndGet();
+                        mutator.setState(State.SUBMITTED);
+                    }))
+            .build();
+
+    private final SerializedActionExecutor<State, String> executor = SerializedActionExecutor.<State, String>builder()
+            .delegate(SyncActionExecutor.<State, String>builder()
+                    .entityType(entityType)
+                    .build())
+            .keyExtractor(invoiceId -> invoiceId)
+            .build();
+
+    @Test
+    void serializesActionsOnTheSameKey() throws Exception {
+        int[] counter = {0};
+        try (var threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                futures.add(threads.submit(() -> executor.runExclusively("invoice-1", () -> {
+                    int loaded = counter[0];
+                    executor.execute(State.DRAFT, "invoice-1", new ValidationContext(), new Submit("submit"));
+                    counter[0] = loaded + 1;
+                    return null;
+                })));
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+        }
+
+        assertThat(counter[0]).isEqualTo(50);
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    void runsDifferentKeysInParallel() throws Exception {
+        CountDownLatch bothInside = new CountDownLatch(2);
+        try (var threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            // The latch only opens when both keys hold their lock at the same time
+            for (String key : List.of("invoice-1", "invoice-2")) {
+                futures.add(threads.submit(() -> executor.runExclusively(key, () -> {
+                    bothInside.countDown();
+                    try {
+                        return bothInside.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })));
+            }
+            for (Future<Boolean> future : futures) {
+                assertThat(future.get()).isTrue();
+            }
+        }
+    }
+
+    @Test
+    void executeReturnsDelegateResult() {
+        ActionResult<State, String, Submit> result =
+                executor.execute(State.DRAFT, "invoice-1", new ValidationContext(), new Submit("submit"));
+
+        assertThat(result.state()).isEqualTo(State.SUBMITTED);
+        assertThat(executor.getAllowedActions(State.DRAFT, "invoice-1")).containsExactly("submit");
+    }
+}
@@ -0,0 +1,253 @@
+package com.libentity.core.action;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.libentity.core.entity.EntityType;
+import com.libentity.core.validation.ValidationContext;
+import com.libentity.core.validation.ValidationError;
+import com.libentity.core.validation.ValidationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class SyncActionExecutorTest {
+    enum State {
+        DRAFT,
+        APPROVED
+    }
+
+    record Approve(String actionName) implements ActionCommand {
+        @Override
+        public String getActionName() {
+            return actionName;
+        }
+    }
+
+    private static final Approve APPROVE = new Approve("approve");
+
+    private final EntityType<State, Integer> entityType = EntityType.<State, Integer>builder("Invoice")
+            .<Approve>action("approve", a -> a.allowedStates(Set.of(State.DRAFT))
+                    .handler((state, request, command, mutator) -> mutator.setState(State.APPROVED)))
+            .validateTransition(State.DRAFT, State.APPROVED, (from, to, amount, ctx) -> {
+                if (amount > 1000) {
+                    ctx.addError("LIMIT", "Amount above approval limit");
+                }
+            })
+            .build();
+
+    private final SyncActionExecutor<State, Integer> executor =
+            SyncActionExecutor.<State, Integer>builder().entityType(entityType).build();
+
+    @Test
+    void executeBatchReportsEachItemWithoutFailingTheBatch() {
+        List<BatchResult<State, Integer, Approve>> results = executor.executeBatch(
+                List.of(
+                        new BatchItem<>(State.DRAFT, 10, APPROVE),
+                        new BatchItem<>(State.DRAFT, 5000, APPROVE),
+                        new BatchItem<>(State.APPROVED, 10, APPROVE)),
+                false);
+
+        assertThat(results).extracting(BatchResult::succeeded).containsExactly(true, false, false);
+        assertThat(results.get(0).result().state()).isEqualTo(State.APPROVED);
+        assertThat(results.get(1).errors()).extracting("code").containsExactly("LIMIT");
+        assertThat(results.get(2).errors()).extracting("code").containsExactly("ACTION_NOT_ALLOWED");
+    }
+
+    @Test
+    void parallelBatchKeepsItemOrder() {
+        List<BatchItem<State, Integer, Approve>> items = IntStream.range(0, 2000)
+                .mapToObj(amount -> new BatchItem<>(State.DRAFT, amount, APPROVE))
+                .toList();
+
+        List<BatchResult<State, Integer, Approve>> results = executor.executeBatch(items, true);
+
+        assertThat(results).extracting(BatchResult::item).containsExactlyElementsOf(items);
+        assertThat(results.stream().filter(BatchResult::succeeded).count()).isEqualTo(1001);
+    }
+
+    @Test
+    void rejectionsKeepTheirStackTraceByDefault() {
+        Throwable first = catchThrowable(() -> executor.execute(State.APPROVED, 10, new ValidationContext(), APPROVE));
+        Throwable second = catchThrowable(() -> executor.execute(State.APPROVED, 20, new ValidationContext(), APPROVE));
+
+        assertThat(first).isInstanceOf(ValidationException.class).isNotSameAs(second);
+        assertThat(first.getStackTrace()).isNotEmpty();
+        assertThat(((ValidationException) first).getErrors())
+                .extracting("code", "defaultMessage")
+                .containsExactly(
+                        tuple(ActionDefinition.ACTION_NOT_ALLOWED, "Action approve is not allowed in current state"));
+    }
+
+    @Test
+    void stacklessRejectionsArePrecomputed() {
+        EntityType<State, Integer> stacklessType = EntityType.<State, Integer>builder("Invoice")
+                .<Approve>action("approve", a -> a.allowedStates(Set.of(State.DRAFT))
+                        .stacklessRejections()
+                        .handler((state, request, command, mutator) -> mutator.setState(State.APPROVED)))
+                .build();
+        SyncActionExecutor<State, Integer> stacklessExecutor = SyncActionExecutor.<State, Integer>builder()
+                .entityType(stacklessType)
+                .build();
+
+        Throwable first =
+                catchThrowable(() -> stacklessExecutor.execute(State.APPROVED, 10, new ValidationContext(), APPROVE));
+        Throwable second =
+                catchThrowable(() -> stacklessExecutor.execute(State.APPROVED, 20, new ValidationContext(), APPROVE));
+
+        assertThat(first).isInstanceOf(ValidationException.class).isSameAs(second);
+        assertThat(first.getStackTrace()).isEmpty();
+        assertThat(((ValidationException) first).getErrors())
+                .extracting("code")
+                .containsExactly(ActionDefinition.ACTION_NOT_ALLOWED);
+    }
+
+    @Test
+    void tryExecuteReturnsOutcomesInsteadOfThrowing() {
+        ActionOutcome<State, Integer, Approve> success =
+                executor.tryExecute(State.DRAFT, 10, new ValidationContext(), APPROVE);
+        ActionOutcome<State, Integer, Approve> failed =
+                executor.tryExecute(State.DRAFT, 5000, new ValidationContext(), APPROVE);
+        ActionOutcome<State, Integer, Approve> rejected =
+                executor.tryExecute(State.APPROVED, 10, new ValidationContext(), APPROVE);
+
+        assertThat(success.succeeded()).isTrue();
+        assertThat(success.orElseThrow().state()).isEqualTo(State.APPROVED);
+        assertThat(failed).isInstanceOf(ActionOutcome.ValidationFailed.class);
+        assertThat(failed.errors()).extracting("code").containsExactly("LIMIT");
+        assertThat(rejected).isInstanceOf(ActionOutcome.Rejected.class);
+        assertThat(rejected.errors()).extracting("code").containsExactly(ActionDefinition.ACTION_NOT_ALLOWED);
+        assertThatThrownBy(rejected::orElseThrow).isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void exceptionsThrownByHandlersAreRethrownUnchanged() {
+        class LockedException extends ValidationException {
+            LockedException() {
+                super(List.of(ValidationError.builder()
+                        .code(ActionDefinition.ACTION_NOT_ALLOWED)
+                        .defaultMessage("Invoice is locked")
+                        .build()));
+            }
+        }
+        EntityType<State, Integer> lockedType = EntityType.<State, Integer>builder("Invoice")
+                .<Approve>action(
+                        "approve",
+                        a -> a.handler((state, request, command, mutator) -> {
+                            throw new LockedException();
+                        }))
+                .build();
+        SyncActionExecutor<State, Integer> lockedExecutor = SyncActionExecutor.<State, Integer>builder()
+                .entityType(lockedType)
+                .build();
+
+        assertThatThrownBy(() -> lockedExecutor.execute(State.DRAFT, 10, new ValidationContext(), APPROVE))
+                .isInstanceOf(LockedException.class);
+        assertThat(lockedExecutor.tryExecute(State.DRAFT, 10, new ValidationContext(), APPROVE))
+                .isInstanceOf(ActionOutcome.ValidationFailed.class);
+    }
+
+    @Test
+    void tracesEachStepOfExecution() {
+        List<String> events = new ArrayList<>();
+        SyncActionExecutor<State, Integer> traced = SyncActionExecutor.<State, Integer>builder()
+                .entityType(entityType)
+                .tracer(new ActionTracer<>() {
+                    @Override
+                    public void actionStarted(String entityName, State state, String actionName) {
+                        events.add("started " + entityName + "/" + state + "#" + actionName);
+                    }
+
+                    @Override
+                    public void actionRejected(String entityName, State state, String actionName) {
+                        events.add("rejected " + state);
+                    }
+
+                    @Override
+                    public void actionFailed(
+                            String entityName, State state, String actionName, List<ValidationError> errors) {
+                        events.add("failed " + errors.get(0).getCode());
+                    }
+
+                    @Override
+                    public void actionSucceeded(String entityName, State state, String actionName, State newState) {
+                        events.add("succeeded " + newState);
+                    }
+                })
+                .build();
+
+        traced.execute(State.DRAFT, 10, new ValidationContext(), APPROVE);
+        traced.tryExecute(State.DRAFT, 5000, new ValidationContext(), APPROVE);
+        traced.tryExecute(State.APPROVED, 10, new ValidationContext(), APPROVE);
+
+        assertThat(events)
+                .containsExactly(
+                        "started Invoice/DRAFT#approve",
+                        "succeeded APPROVED",
+                        "started Invoice/DRAFT#approve",
+                        "failed LIMIT",
+                        "started Invoice/APPROVED#approve",
+                        "rejected APPROVED");
+        assertThatThrownBy(() -> traced.execute(State.DRAFT, 5000, new ValidationContext(), APPROVE))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void executeBatchRejectsUnknownActions() {
+        assertThatThrownBy(
+                        () -> executor.executeBatch(List.of(new BatchItem<>(State.DRAFT, 10, new Approve("x"))), false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No action defined for 'x'");
+    }
+
+    @Test
+    void getAllowedActionsOnlyEvaluatesPredicatesOfAdmittedActions() {
+        AtomicInteger evaluations = new AtomicInteger();
+        EntityType<State, Integer> gatedType = EntityType.<State, Integer>builder("Invoice")
+                .<Approve>action("approve", a -> a.allowedStates(Set.of(State.DRAFT)))
+                .<Approve>action("escalate", a -> a.allowedStates(Set.of(State.DRAFT))
+                        .onlyIf((state, amount, command) -> evaluations.incrementAndGet() > 0 && amount > 1000))
+                .<Approve>action("archive", a -> a.allowedStates(Set.of()))
+                .build();
+        SyncActionExecutor<State, Integer> gatedExecutor = SyncActionExecutor.<State, Integer>builder()
+                .entityType(gatedType)
+                .build();
+
+        assertThat(gatedExecutor.getAllowedActions(State.DRAFT, 5000))
+                .containsExactlyInAnyOrder("approve", "escalate", "archive");
+        assertThat(gatedExecutor.getAllowedActions(State.DRAFT, 10)).containsExactlyInAnyOrder("approve", "archive");
+        assertThat(gatedExecutor.getAllowedActions(State.APPROVED, 5000)).containsExactly("archive");
+        assertThat(gatedExecutor.getAllowedActions(null, 5000)).containsExactly("archive");
+        assertThat(gatedExecutor.getAllowedActions(State.APPROVED, 10))
+                .isSameAs(gatedExecutor.getAllowedActions(State.APPROVED, 20));
+        assertThat(evaluations).hasValue(2);
+    }
+
+    @Test
+    void bulkGetAllowedActionsEvaluatesBatchPredicatesOncePerState() {
+        List<List<Integer>> batches = new ArrayList<>();
+        BatchActionAvailabilityPredicate<State, Integer, Approve> aboveLimit = (state, amounts) -> {
+            batches.add(amounts);
+            return amounts.stream().map(amount -> amount > 1000).toList();
+        };
+        EntityType<State, Integer> gatedType = EntityType.<State, Integer>builder("Invoice")
+                .<Approve>action("escalate", a -> a.allowedStates(Set.of(State.DRAFT, State.APPROVED))
+                        .onlyIf(aboveLimit))
+                .build();
+        SyncActionExecutor<State, Integer> gatedExecutor = SyncActionExecutor.<State, Integer>builder()
+                .entityType(gatedType)
+                .build();
+
+        List<List<String>> allowed = gatedExecutor.getAllowedActions(List.of(
+                new StateRequest<>(State.DRAFT, 5000),
+                new StateRequest<>(State.APPROVED, 10),
+                new StateRequest<>(State.DRAFT, 10),
+                new StateRequest<>(State.APPROVED, 2000)));
+
+        assertThat(allowed).containsExactly(List.of("escalate"), List.of(), List.of(), List.of("escalate"));
+        assertThat(batches).containsExactly(List.of(5000, 10), List.of(10, 2000));
+        assertThat(gatedExecutor.getAllowedActions(State.DRAFT, 5000)).containsExactly("escalate");
+    }
+}
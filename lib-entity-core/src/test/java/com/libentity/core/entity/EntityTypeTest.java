@@ -0,0 +1,192 @@
+package com.libentity.core.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.libentity.core.validation.ValidationContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class EntityTypeTest {
+    enum State {
+        DRAFT,
+        PENDING,
+        APPROVED
+    }
+
+    @Test
+    void validateStateRunsOnlyValidatorsForThatStateInRegistrationOrder() {
+        List<String> calls = new ArrayList<>();
+        EntityType<State, Object> entityType = EntityType.<State, Object>builder("Test")
+                .field("amount", Integer.class, f -> f.validateInState(
+                                State.DRAFT, (state, request, ctx) -> calls.add("amount-draft"))
+                        .validateInState(State.PENDING, (state, request, ctx) -> calls.add("amount-pending")))
+                .validateInState(State.DRAFT, (state, request, ctx) -> calls.add("entity-draft"))
+                .validateInState(State.APPROVED, (state, request, ctx) -> calls.add("entity-approved"))
+                .build();
+
+        entityType.validateState(State.DRAFT, null, new ValidationContext());
+        assertThat(calls).containsExactly("amount-draft", "entity-draft");
+
+        calls.clear();
+        entityType.validateState(State.APPROVED, null, new ValidationContext());
+        assertThat(calls).containsExactly("entity-approved");
+    }
+
+    @Test
+    void anyStateValidatorsRunInEveryStateInRegistrationOrder() {
+        List<String> calls = new ArrayList<>();
+        EntityType<State, Object> entityType = EntityType.<State, Object>builder("Test")
+                .field("amount", Integer.class, f -> f.validateInAnyState(
+                                (state, request, ctx) -> calls.add("amount-any"))
+                        .validateInState(State.DRAFT, (state, request, ctx) -> calls.add("amount-draft")))
+                .validateInState(State.DRAFT, (state, request, ctx) -> calls.add("entity-draft"))
+                .build();
+
+        entityType.validateState(State.DRAFT, null, new ValidationContext());
+        assertThat(calls).containsExactly("amount-any", "amount-draft", "entity-draft");
+
+        calls.clear();
+        entityType.validateState(State.APPROVED, null, new ValidationContext());
+        entityType.validateState(null, null, new ValidationContext());
+        assertThat(calls).containsExactly("amount-any", "amount-any");
+        assertThat(new InStateValidationEntry<State, Object>(null, (state, request, ctx) -> {}).appliesTo(State.DRAFT))
+                .isFalse();
+    }
+
+    @Test
+    void entityAnyStateValidatorsRunAfterThoseOfTheState() {
+        List<String> calls = new ArrayList<>();
+        EntityType<State, Object> entityType = EntityType.<State, Object>builder("Test")
+                .field(
+                        "amount",
+                        Integer.class,
+                        f -> f.validateInAnyState((state, request, ctx) -> calls.add("amount-any")))
+                .validateInAnyState((state, request, ctx) -> calls.add("entity-any"))
+                .validateInState(State.DRAFT, (state, request, ctx) -> calls.add("entity-draft"))
+                .build();
+
+        entityType.validateState(State.DRAFT, null, new ValidationContext());
+        assertThat(calls).containsExactly("amount-any", "entity-draft", "entity-any");
+
+        calls.clear();
+        entityType.validateState(State.APPROVED, null, new ValidationContext());
+        assertThat(calls).containsExactly("amount-any", "entity-any");
+    }
+
+    @Test
+    void validateStateStopsAtTheErrorLimit() {
+        List<String> calls = new ArrayList<>();
+        EntityType<State, Object> entityType = EntityType.<State, Object>builder("Test")
+                .validateInState(State.DRAFT, (state, request, ctx) -> {
+                    calls.add("first");
+                    ctx.addError("FIRST", "first failed");
+                })
+                .validateInState(State.DRAFT, (state, request, ctx) -> calls.add("second"))
+                .build();
+
+        ValidationContext ctx = ValidationContext.failFast();
+        entityType.validateState(State.DRAFT, null, ctx);
+        assertThat(calls).containsExactly("first");
+        assertThat(ctx.getErrors()).hasSize(1);
+
+        entityType.validateState(State.DRAFT, null, new ValidationContext());
+        assertThat(calls).containsExactly("first", "first", "second");
+    }
+
+    @Test
+    void validateTransitionRunsOnlyValidatorsForThatTransition() {
+        List<String> calls = new ArrayList<>();
+        EntityType<State, Object> entityType = EntityType.<State, Object>builder("Test")
+                .field(
+                        "amount",
+                        Integer.class,
+                        f -> f.validateStateTransition(
+                                State.DRAFT, State.PENDING, (from, to, request, ctx) -> calls.add("amount-submit")))
+                .validateTransition(State.DRAFT, State.PENDING, (from, to, request, ctx) -> calls.add("submit"))
+                .validateTransition(State.PENDING, State.APPROVED, (from, to, request, ctx) -> calls.add("approve"))
+                .build();
+
+        entityType.validateTransition(State.DRAFT, State.PENDING, null, new ValidationContext());
+        assertThat(calls).containsExactly("amount-submit", "submit");
+
+        calls.clear();
+        entityType.validateTransition(State.DRAFT, State.APPROVED, null, new ValidationContext());
+        assertThat(calls).isEmpty();
+    }
+
+    @Test
+    void supportsNullAndNonEnumStates() {
+        List<String> calls = new ArrayList<>();
+        EntityType<String, Object> entityType = EntityType.<String, Object>builder("Test")
+                .validateInState("open", (state, request, ctx) -> calls.add("open"))
+                .validateTransition(null, "open", (from, to, request, ctx) -> calls.add("create"))
+                .build();
+
+        entityType.validateTransition(null, "open", null, new ValidationContext());
+        entityType.validateState("open", null, new ValidationContext());
+        entityType.validateState(null, null, new ValidationContext());
+
+        assertThat(calls).containsExactly("create", "open");
+    }
+
+    @Test
+    void parallelValidationRunsValidatorsConcurrentlyAndMergesErrorsInRegistrationOrder() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            EntityType<State, Object> entityType = EntityType.<State, Object>builder("Test")
+                    .field(
+                            "amount",
+                            Integer.class,
+                            f -> f.validateInState(State.DRAFT, (state, request, ctx) -> {
+                                awaitOther(bothStarted);
+                                ctx.addError("AMOUNT", "first");
+                            }))
+                    .validateInState(State.DRAFT, (state, request, ctx) -> {
+                        awaitOther(bothStarted);
+                        ctx.addError("ENTITY", "second");
+                        ctx.addError("ENTITY", "third");
+                    })
+                    .parallelValidation(executor)
+                    .build();
+
+            ValidationContext ctx = new ValidationContext();
+            entityType.validateState(State.DRAFT, null, ctx);
+
+            assertThat(ctx.getErrors()).extracting("defaultMessage").containsExactly("first", "second", "third");
+        }
+    }
+
+    @Test
+    void parallelValidationRethrowsValidatorExceptions() {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            EntityType<State, Object> entityType = EntityType.<State, Object>builder("Test")
+                    .validateTransition(State.DRAFT, State.PENDING, (from, to, request, ctx) -> {})
+                    .validateTransition(State.DRAFT, State.PENDING, (from, to, request, ctx) -> {
+                        throw new IllegalStateException("boom");
+                    })
+                    .parallelValidation(executor)
+                    .build();
+
+            assertThatThrownBy(() ->
+                            entityType.validateTransition(State.DRAFT, State.PENDING, null, new ValidationContext()))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessage("boom");
+        }
+    }
+
+    private static void awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS))
+                    .as("validators should run concurrently")
+                    .isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.libentity.core.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class ValidationContextTest {
+    @Test
+    void collectsErrorsInOrder() {
+        ValidationContext ctx = new ValidationContext();
+        assertThat(ctx.hasErrors()).isFalse();
+        assertThat(ctx.getErrors()).isEmpty();
+
+        ctx.addError("A", "first");
+        ctx.addError("B", "second", Map.of("max", 10));
+
+        assertThat(ctx.getErrors()).extracting(ValidationError::getCode).containsExactly("A", "B");
+        assertThat(ctx.getErrors().get(1).getParameters()).containsEntry("max", 10);
+        assertThat(ctx.isLimitReached()).isFalse();
+    }
+
+    @Test
+    void errorsAreReadOnlyWhetherEmptyOrNot() {
+        ValidationContext ctx = new ValidationContext();
+        assertThatThrownBy(() -> ctx.getErrors().add(null)).isInstanceOf(UnsupportedOperationException.class);
+
+        ctx.addError("A", "first");
+        List<ValidationError> errors = ctx.getErrors();
+        assertThatThrownBy(errors::clear).isInstanceOf(UnsupportedOperationException.class);
+        ctx.addError("B", "second");
+        assertThat(errors).hasSize(2);
+    }
+
+    @Test
+    void failFastKeepsOnlyTheFirstError() {
+        ValidationContext ctx = ValidationContext.failFast();
+        ctx.addError("A", "first");
+        ctx.addError("B", "second");
+
+        ValidationContext other = new ValidationContext();
+        other.addError("C", "third");
+        ValidationContext limited = ValidationContext.withMaxErrors(2);
+        limited.merge(ctx);
+        limited.merge(other);
+        limited.merge(other);
+
+        assertThat(ctx.getErrors()).extracting(ValidationError::getCode).containsExactly("A");
+        assertThat(ctx.isLimitReached()).isTrue();
+        assertThat(limited.getErrors()).extracting(ValidationError::getCode).containsExactly("A", "C");
+        assertThatThrownBy(() -> ValidationContext.withMaxErrors(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void resetAllowsReuseWithoutAffectingThrownErrors() {
+        ValidationContext ctx = ValidationContext.failFast();
+        ctx.addError("A", "first");
+        ValidationException exception = new ValidationException(ctx.getErrors());
+
+        ctx.reset();
+        ctx.addError("B", "second");
+
+        assertThat(ctx.getErrors()).extracting(ValidationError::getCode).containsExactly("B");
+        assertThat(exception.getErrors()).extracting(ValidationError::getCode).containsExactly("A");
+        ctx.reset();
+        assertThat(ctx.hasErrors()).isFalse();
+        assertThat(ctx.getErrors()).isEqualTo(List.of());
+    }
+}
@@ -0,0 +1,186 @@
+package com.libentity.jooqsupport;
+
+import com.libentity.core.persistence.EntityStore;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.jooq.BatchBindStep;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.InsertOnDuplicateSetMoreStep;
+import org.jooq.OrderField;
+import org.jooq.Query;
+import org.jooq.Record;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+
+/**
+ * Base {@link EntityStore} backed by a single jOOQ table.
+ * <p>
+ * Subclasses only map between entities and records. Saves are upserts on the id column
+ * ({@code INSERT ... ON CONFLICT (id) DO UPDATE}), so {@link #fromEntity} must copy the id when the entity has one.
+ * {@link #loadAll} fetches entities with one {@code IN}-list select and {@link #saveAll} sends one prepared upsert as a
+ * JDBC batch with a bind set per entity, both in chunks of {@link #getChunkSize()} to stay below driver bind value and
+ * batch limits.
+ * </p>
+ *
+ * @param <E>  Entity type
+ * @param <ID> Identifier type
+ * @param <R>  Record type of the table
+ */
+public abstract class JooqEntityStore<E, ID, R extends Record> implements EntityStore<E, ID> {
+    /** Number of ids per select and entities per batch used unless {@link #getChunkSize()} is overridden. */
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    /** Number of rows fetched per round trip by {@link #streamWhere} unless {@link #getFetchSize()} is overridden. */
+    public static final int DEFAULT_FETCH_SIZE = 500;
+
+    protected final DSLContext dsl;
+    protected final Table<R> table;
+    protected final Field<ID> idField;
+
+    protected JooqEntityStore(DSLContext dsl, Table<R> table, Field<ID> idField) {
+        this.dsl = dsl;
+        this.table = table;
+        this.idField = idField;
+    }
+
+    /** Maps a fetched record to an entity. */
+    protected abstract E toEntity(R record);
+
+    /** Copies the entity, including its id when it has one, into a new record. */
+    protected abstract void fromEntity(R record, E entity);
+
+    /**
+     * Called by {@link #save} with the id of the saved row, for example to set an id generated by the database.
+     * Does nothing by default. Not called by {@link #saveAll}, as JDBC batches do not return generated keys.
+     */
+    protected void assignId(E entity, ID id) {}
+
+    /** Number of ids per select and entities per batch. */
+    protected int getChunkSize() {
+        return DEFAULT_CHUNK_SIZE;
+    }
+
+    /** Number of rows the JDBC driver fetches per round trip when streaming. */
+    protected int getFetchSize() {
+        return DEFAULT_FETCH_SIZE;
+    }
+
+    /**
+     * Streams the entities matching the condition, mapping rows as they are read so only about
+     * {@link #getFetchSize()} rows are in memory at a time. Use it to implement
+     * {@link com.libentity.core.persistence.FilterStore#stream}.
+     * <p>
+     * The stream holds an open cursor and connection until closed, so close it with try-with-resources. Some drivers
+     * only honour the fetch size inside a transaction: PostgreSQL, for instance, reads the whole result at once in
+     * auto-commit mode.
+     * </p>
+     */
+    protected Stream<E> streamWhere(Condition condition, OrderField<?>... orderBy) {
+        return dsl.selectFrom(table)
+                .where(condition)
+                .orderBy(orderBy)
+                .fetchSize(getFetchSize())
+                .fetchStream()
+                .map(this::toEntity);
+    }
+
+    @Override
+    public E loadById(ID id) {
+        return dsl.selectFrom(table).where(idField.eq(id)).fetchOne(this::toEntity);
+    }
+
+    @Override
+    public List<E> loadAll(Collection<ID> ids) {
+        List<E> entities = new ArrayList<>(ids.size());
+        for (List<ID> chunk : chunks(ids)) {
+            entities.addAll(dsl.selectFrom(table).where(idField.in(chunk)).fetch(this::toEntity));
+        }
+        return entities;
+    }
+
+    @Override
+    public void save(E entity) {
+        R persisted = upsert(entity).returning(idField).fetchOne();
+        if (persisted != null) {
+            assignId(entity, persisted.get(idField));
+        }
+    }
+
+    /**
+     * Saves the entities as JDBC batches of one prepared upsert each, bound once per entity. Entities that set the same
+     * columns share a statement, so a chunk usually needs a single one; entities without an id, for example, form a
+     * second batch.
+     */
+    @Override
+    public void saveAll(Collection<E> entities) {
+        for (List<E> chunk : chunks(entities)) {
+            Map<List<Field<?>>, List<Object[]>> bindsByColumns = new LinkedHashMap<>();
+            for (E entity : chunk) {
+                R record = dsl.newRecord(table);
+                fromEntity(record, entity);
+                List<Field<?>> columns = new ArrayList<>();
+                for (Field<?> field : record.fields()) {
+                    if (record.changed(field)) {
+                        columns.add(field);
+                    }
+                }
+                Object[] values = new Object[columns.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = record.get(columns.get(i));
+                }
+                bindsByColumns.computeIfAbsent(columns, c -> new ArrayList<>()).add(values);
+            }
+            bindsByColumns.forEach((columns, binds) -> {
+                BatchBindStep batch = dsl.batch(upsertTemplate(columns));
+                for (Object[] values : binds) {
+                    batch = batch.bind(values);
+                }
+                batch.execute();
+            });
+        }
+    }
+
+    private InsertOnDuplicateSetMoreStep<R> upsert(E entity) {
+        R record = dsl.newRecord(table);
+        fromEntity(record, entity);
+        return dsl.insertInto(table).set(record).onConflict(idField).doUpdate().set(record);
+    }
+
+    // Placeholders for the inserted values; the update reads them back with EXCLUDED instead of binding them twice
+    private Query upsertTemplate(List<Field<?>> columns) {
+        List<Field<?>> params = new ArrayList<>(columns.size());
+        Map<Field<?>, Field<?>> updates = new LinkedHashMap<>();
+        for (Field<?> column : columns) {
+            params.add(DSL.param(column.getName(), column.getDataType()));
+            updates.put(column, DSL.excluded(column));
+        }
+        return dsl.insertInto(table, columns)
+                .values(params)
+                .onConflict(idField)
+                .doUpdate()
+                .set(updates);
+    }
+
+    private <T> List<List<T>> chunks(Collection<T> values) {
+        int chunkSize = getChunkSize();
+        List<List<T>> chunks = new ArrayList<>();
+        List<T> chunk = new ArrayList<>(Math.min(chunkSize, values.size()));
+        for (T value : values) {
+            chunk.add(value);
+            if (chunk.size() == chunkSize) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+}
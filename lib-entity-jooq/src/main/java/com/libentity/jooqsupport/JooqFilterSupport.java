@@ -3,8 +3,16 @@ package com.libentity.jooqsupport;
 import com.libentity.core.filter.FieldFilterType;
 import com.libentity.core.filter.FilterDefinition;
 import com.libentity.core.filter.RangeFilter;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.jooq.Condition;
@@ -19,8 +27,23 @@ import org.jooq.impl.DSL;
  */
 @SuppressWarnings("unchecked")
 public class JooqFilterSupport {
+    /**
+     * Per filter class: getters for its declared fields and the plans compiled from them, one per definition.
+     * Reflection happens once per class and a plan once per definition; plans do not depend on the field mapping.
+     */
+    private static final ClassValue<FilterClassPlans> PLANS = new ClassValue<>() {
+        @Override
+        protected FilterClassPlans computeValue(Class<?> type) {
+            return new FilterClassPlans(getters(type));
+        }
+    };
+
     /**
      * Builds a JOOQ {@link Condition} based on the provided filter object, filter definition, and field mapping.
+     * <p>
+     * The fields to read are resolved once and cached per filter class and definition instance, so pass a constant
+     * definition and do not modify it afterwards. The field mapping is read on every call and may be built per call.
+     * </p>
      *
      * @param filter         The filter object containing filter values
      * @param definition     The filter definition specifying supported fields and types
@@ -29,84 +52,147 @@ public class JooqFilterSupport {
      */
     public static <F> Condition buildCondition(
             F filter, FilterDefinition<F> definition, Map<String, org.jooq.Field<?>> fieldMapping) {
-        Condition condition = DSL.trueCondition();
-        for (Map.Entry<String, Set<FieldFilterType>> entry :
-                definition.getSupportedFields().entrySet()) {
-            String fieldName = entry.getKey();
-            Set<FieldFilterType> filterTypes = entry.getValue();
+        List<FieldPlan> fields = PLANS.get(filter.getClass()).plan(definition);
+        List<Condition> conditions = new ArrayList<>(fields.size());
+        for (FieldPlan field : fields) {
+            org.jooq.Field<?> jooqField = fieldMapping.get(field.name());
+            // not filterable
+            if (jooqField == null) continue;
+            Object filterValue = field.get(filter);
+            if (filterValue == null) continue;
+            addFieldConditions(conditions, filterValue, field.filterTypes(), jooqField);
+        }
+        return conditions.isEmpty() ? DSL.trueCondition() : DSL.and(conditions);
+    }
+
+    /** A supported field of the definition that exists on the filter class, in definition order. */
+    private record FieldPlan(String name, MethodHandle getter, Set<FieldFilterType> filterTypes) {
+        Object get(Object filter) {
+            try {
+                return getter.invokeExact(filter);
+            } catch (Throwable e) {
+                throw new IllegalStateException("Cannot read filter field", e);
+            }
+        }
+    }
+
+    private static final class FilterClassPlans {
+        /** Plans kept per class; callers that create a definition per call start over instead of growing the map. */
+        private static final int MAX_PLANS = 16;
+
+        private final Map<String, MethodHandle> getters;
+        /** Copy-on-write, keyed by definition identity, so reads take no lock. */
+        private volatile Map<FilterDefinition<?>, List<FieldPlan>> plans = Map.of();
+
+        FilterClassPlans(Map<String, MethodHandle> getters) {
+            this.getters = getters;
+        }
+
+        List<FieldPlan> plan(FilterDefinition<?> definition) {
+            List<FieldPlan> plan = plans.get(definition);
+            if (plan == null) {
+                plan = compile(definition);
+                synchronized (this) {
+                    Map<FilterDefinition<?>, List<FieldPlan>> updated =
+                            plans.size() < MAX_PLANS ? new IdentityHashMap<>(plans) : new IdentityHashMap<>();
+                    updated.put(definition, plan);
+                    plans = updated;
+                }
+            }
+            return plan;
+        }
+
+        private List<FieldPlan> compile(FilterDefinition<?> definition) {
+            List<FieldPlan> fields = new ArrayList<>();
+            for (Map.Entry<String, Set<FieldFilterType>> entry :
+                    definition.getSupportedFields().entrySet()) {
+                MethodHandle getter = getters.get(entry.getKey());
+                // not a field of the filter class
+                if (getter == null) continue;
+                fields.add(new FieldPlan(entry.getKey(), getter, entry.getValue()));
+            }
+            return List.copyOf(fields);
+        }
+    }
+
+    /** Getters of the declared instance fields, typed {@code (Object)Object} so they can be invoked exactly. */
+    private static Map<String, MethodHandle> getters(Class<?> type) {
+        Map<String, MethodHandle> getters = new HashMap<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) continue;
             try {
-                Field filterField = filter.getClass().getDeclaredField(fieldName);
-                filterField.setAccessible(true);
-                Object filterValue = filterField.get(filter);
-                if (filterValue == null) continue;
-                org.jooq.Field<?> jooqField = fieldMapping.get(fieldName);
-                if (jooqField == null) continue;
-                condition = condition.and(buildFieldCondition(filterValue, filterTypes, jooqField));
-            } catch (NoSuchFieldException | IllegalAccessException e) {
-                // ignore, not filterable
+                field.setAccessible(true);
+                getters.put(
+                        field.getName(),
+                        MethodHandles.lookup()
+                                .unreflectGetter(field)
+                                .asType(MethodType.methodType(Object.class, Object.class)));
+            } catch (RuntimeException | IllegalAccessException e) {
+                // inaccessible, not filterable
             }
         }
-        return condition;
+        return Map.copyOf(getters);
     }
 
     /**
-     * Builds a JOOQ condition for a single field based on its value and supported filter types.
+     * Adds the JOOQ conditions for a single field based on its value and supported filter types.
      */
-    private static Condition buildFieldCondition(
-            Object filterValue, Set<FieldFilterType> filterTypes, org.jooq.Field<?> jooqField) {
-        Condition condition = DSL.trueCondition();
+    private static void addFieldConditions(
+            List<Condition> conditions,
+            Object filterValue,
+            Set<FieldFilterType> filterTypes,
+            org.jooq.Field<?> jooqField) {
         if (filterValue instanceof RangeFilter<?> rf) {
-            condition = condition.and(buildRangeFilterCondition(rf, filterTypes, jooqField));
+            addRangeFilterConditions(conditions, rf, filterTypes, jooqField);
         } else if (filterValue instanceof Boolean b) {
             if (filterTypes.contains(FieldFilterType.BOOLEAN)) {
-                condition = condition.and(((org.jooq.Field<Boolean>) jooqField).eq(b));
+                conditions.add(((org.jooq.Field<Boolean>) jooqField).eq(b));
             }
         } else {
             if (filterTypes.contains(FieldFilterType.EQ)) {
-                condition = condition.and(((org.jooq.Field<Object>) jooqField).eq(filterValue));
+                conditions.add(((org.jooq.Field<Object>) jooqField).eq(filterValue));
             }
             if (filterTypes.contains(FieldFilterType.IN) && filterValue instanceof Collection<?> c) {
-                condition = condition.and(((org.jooq.Field<Object>) jooqField).in(c));
+                conditions.add(((org.jooq.Field<Object>) jooqField).in(c));
             }
         }
-        return condition;
     }
 
     /**
-     * Builds a JOOQ condition for a RangeFilter (GT, GTE, LT, LTE, EQ).
+     * Adds the JOOQ conditions for a RangeFilter (GT, GTE, LT, LTE, EQ).
      */
-    private static Condition buildRangeFilterCondition(
-            RangeFilter<?> rf, Set<FieldFilterType> filterTypes, org.jooq.Field<?> jooqField) {
-        Condition condition = DSL.trueCondition();
+    private static void addRangeFilterConditions(
+            List<Condition> conditions,
+            RangeFilter<?> rf,
+            Set<FieldFilterType> filterTypes,
+            org.jooq.Field<?> jooqField) {
         for (FieldFilterType type : filterTypes) {
             switch (type) {
                 case GT -> {
                     if (rf.getGt() != null)
-                        condition = condition.and(
+                        conditions.add(
                                 ((org.jooq.Field<Comparable<Object>>) jooqField).gt((Comparable<Object>) rf.getGt()));
                 }
                 case GTE -> {
                     if (rf.getGte() != null)
-                        condition = condition.and(
+                        conditions.add(
                                 ((org.jooq.Field<Comparable<Object>>) jooqField).ge((Comparable<Object>) rf.getGte()));
                 }
                 case LT -> {
                     if (rf.getLt() != null)
-                        condition = condition.and(
+                        conditions.add(
                                 ((org.jooq.Field<Comparable<Object>>) jooqField).lt((Comparable<Object>) rf.getLt()));
                 }
                 case LTE -> {
                     if (rf.getLte() != null)
-                        condition = condition.and(
+                        conditions.add(
                                 ((org.jooq.Field<Comparable<Object>>) jooqField).le((Comparable<Object>) rf.getLte()));
                 }
                 case EQ -> {
-                    if (rf.getEq() != null)
-                        condition = condition.and(((org.jooq.Field<Object>) jooqField).eq(rf.getEq()));
+                    if (rf.getEq() != null) conditions.add(((org.jooq.Field<Object>) jooqField).eq(rf.getEq()));
                 }
                 default -> {}
             }
         }
-        return condition;
     }
 }
@@ -0,0 +1,64 @@
+package com.libentity.jooqsupport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.OrderField;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+
+/**
+ * One page of a query together with the total number of matching rows.
+ *
+ * @param items The rows of the page
+ * @param total The number of rows matching the query, across all pages
+ * @param <T> The type of the items
+ */
+public record Page<T>(List<T> items, long total) {
+
+    /** Maps the items, keeping the total. */
+    public <U> Page<U> map(Function<? super T, ? extends U> mapper) {
+        return new Page<>(items.stream().<U>map(mapper).toList(), total);
+    }
+
+    /**
+     * Fetches a page and the total in a single round trip, adding {@code count(*) over ()} to the select. The window
+     * function is evaluated before {@code LIMIT}, so every row carries the total. Only a page past the end, which has
+     * no rows to carry it, costs a second {@code count} query.
+     * <p>
+     * Meta-classes generated for a {@link com.libentity.jooqsupport.annotation.JooqFilter} expose this as
+     * {@code fetchPage}.
+     * </p>
+     */
+    public static <R extends Record> Page<R> fetch(
+            DSLContext dsl,
+            Table<R> table,
+            Condition condition,
+            List<? extends OrderField<?>> orderBy,
+            int limit,
+            int offset) {
+        Field<Integer> totalField = DSL.count().over().as("total_count");
+        List<Field<?>> fields = new ArrayList<>(List.of(table.fields()));
+        fields.add(totalField);
+        Result<Record> result = dsl.select(fields)
+                .from(table)
+                .where(condition)
+                .orderBy(orderBy)
+                .limit(limit)
+                .offset(offset)
+                .fetch();
+        if (result.isEmpty()) {
+            return new Page<>(List.of(), offset == 0 ? 0 : dsl.fetchCount(table, condition));
+        }
+        List<R> items = new ArrayList<>(result.size());
+        for (Record record : result) {
+            items.add(record.into(table));
+        }
+        return new Page<>(items, result.get(0).get(totalField));
+    }
+}
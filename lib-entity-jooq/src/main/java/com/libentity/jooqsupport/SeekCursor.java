@@ -0,0 +1,221 @@
+package com.libentity.jooqsupport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.SelectForUpdateStep;
+import org.jooq.SelectLimitStep;
+import org.jooq.SelectOrderByStep;
+import org.jooq.SelectSeekStepN;
+import org.jooq.SortField;
+import org.jooq.SortOrder;
+import org.jooq.impl.DSL;
+
+/**
+ * Opaque cursor for keyset (seek) pagination.
+ * <p>
+ * A cursor holds the sort values of the last row of a page. The next page starts right after that row with
+ * {@code ORDER BY ... SEEK ...}, which the database answers from the index no matter how deep the page is, unlike
+ * {@code OFFSET} which reads and discards every skipped row. The sort must end with a unique key so that rows with
+ * equal sort values are neither skipped nor repeated.
+ * </p>
+ * <p>
+ * Fields declared {@code NOT NULL} are seeked with a row value comparison, which the database can answer from a
+ * composite index. A row value comparison never matches a {@code NULL}, so nullable fields are instead sorted
+ * {@code NULLS LAST} and compared with an explicit null-aware predicate. Rows whose sort value is {@code NULL} are
+ * then not skipped.
+ * </p>
+ * <p>
+ * Tokens are URL-safe Base64 and are meant to be passed back as-is by clients. Meta-classes generated for a
+ * {@link com.libentity.jooqsupport.annotation.JooqFilter} with a {@code uniqueKey} expose {@code seek} and
+ * {@code nextCursor} helpers built on this class.
+ * </p>
+ */
+public final class SeekCursor {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final List<Object> values;
+
+    private SeekCursor(List<Object> values) {
+        this.values = values;
+    }
+
+    /** Creates a cursor from the sort values of the last row of a page, in sort order. */
+    public static SeekCursor of(Object... values) {
+        return new SeekCursor(Collections.unmodifiableList(Arrays.asList(values.clone())));
+    }
+
+    /** Creates a cursor from the values of the given fields in a fetched record. */
+    public static SeekCursor of(Record record, List<? extends Field<?>> fields) {
+        Object[] values = new Object[fields.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = record.get(fields.get(i));
+        }
+        return of(values);
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}, converting each value to the type of the matching field.
+     *
+     * @throws IllegalArgumentException if the token is malformed or has a different number of values than fields
+     */
+    public static SeekCursor decode(String token, List<? extends Field<?>> fields) {
+        String decoded;
+        try {
+            decoded = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+        List<Object> values = new ArrayList<>(fields.size());
+        int position = 0;
+        while (position < decoded.length()) {
+            if (values.size() == fields.size()) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            Field<?> field = fields.get(values.size());
+            if (decoded.charAt(position) == '-') {
+                values.add(null);
+                position++;
+                continue;
+            }
+            int separator = decoded.indexOf(':', position);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            int end;
+            try {
+                end = separator + 1 + Integer.parseInt(decoded, position, separator, 10);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed cursor: " + token, e);
+            }
+            if (end > decoded.length()) {
+                throw new IllegalArgumentException("Malformed cursor: " + token);
+            }
+            values.add(field.getDataType().convert(decoded.substring(separator + 1, end)));
+            position = end;
+        }
+        if (values.size() != fields.size()) {
+            throw new IllegalArgumentException("Malformed cursor: " + token);
+        }
+        return new SeekCursor(Collections.unmodifiableList(values));
+    }
+
+    /**
+     * Orders the query and limits it to one page starting right after the row the cursor points to.
+     *
+     * @param select The query to order, typically {@code selectFrom(TABLE).where(condition)}
+     * @param order The sort, ending with a unique key
+     * @param fields The fields sorted by, in the same order
+     * @param cursor The cursor of the previous page, or null for the first page
+     * @param pageSize The maximum number of rows to fetch
+     */
+    public static <R extends Record> SelectForUpdateStep<R> seek(
+            SelectOrderByStep<R> select,
+            List<? extends SortField<?>> order,
+            List<? extends Field<?>> fields,
+            String cursor,
+            int pageSize) {
+        if (order.size() != fields.size()) {
+            throw new IllegalArgumentException("Sorting by " + order.size() + " fields, but seeking " + fields.size());
+        }
+        boolean nullable = fields.stream().anyMatch(field -> field.getDataType().nullable());
+        if (!nullable) {
+            SelectSeekStepN<R> ordered = select.orderBy(order);
+            if (cursor == null || cursor.isEmpty()) {
+                return ordered.limit(pageSize);
+            }
+            return ordered.seek(decode(cursor, fields).values.toArray()).limit(pageSize);
+        }
+        List<SortField<?>> nullsLast = new ArrayList<>(order.size());
+        for (int i = 0; i < order.size(); i++) {
+            SortField<?> sort = order.get(i);
+            nullsLast.add(fields.get(i).getDataType().nullable() ? sort.nullsLast() : sort);
+        }
+        SelectLimitStep<R> ordered = select.orderBy(nullsLast);
+        if (cursor != null && !cursor.isEmpty()) {
+            // Select steps are mutable, so this adds to the query being ordered
+            select.getQuery().addConditions(after(order, fields, decode(cursor, fields).values));
+        }
+        return ordered.limit(pageSize);
+    }
+
+    /**
+     * Checks that a sort requested by a client matches the order a cursor pages in. Only a prefix of {@code order},
+     * such as its default sort field without the unique key, is accepted.
+     *
+     * @throws IllegalArgumentException if the requested sort differs from the seek order
+     */
+    public static void requireSeekOrder(List<? extends SortField<?>> requested, List<? extends SortField<?>> order) {
+        if (requested.size() > order.size()
+                || !order.subList(0, requested.size()).equals(requested)) {
+            throw new IllegalArgumentException(
+                    "Keyset pagination sorts by " + order + " and cannot be combined with the sort " + requested);
+        }
+    }
+
+    // Rows after the cursor in an order where NULL sorts after every value of its field
+    private static Condition after(
+            List<? extends SortField<?>> order, List<? extends Field<?>> fields, List<Object> values) {
+        Condition after = DSL.noCondition();
+        Condition tied = DSL.noCondition();
+        for (int i = 0; i < fields.size(); i++) {
+            boolean desc = order.get(i).getOrder() == SortOrder.DESC;
+            after = after.or(tied.and(after(fields.get(i), values.get(i), desc)));
+            tied = tied.and(tied(fields.get(i), values.get(i)));
+        }
+        return after;
+    }
+
+    private static <T> Condition after(Field<T> field, Object value, boolean desc) {
+        if (value == null) {
+            return DSL.falseCondition();
+        }
+        Condition after = desc ? field.lt(DSL.val(value, field)) : field.gt(DSL.val(value, field));
+        return field.getDataType().nullable() ? after.or(field.isNull()) : after;
+    }
+
+    private static <T> Condition tied(Field<T> field, Object value) {
+        return value == null ? field.isNull() : field.eq(DSL.val(value, field));
+    }
+
+    /** The sort values, in sort order. */
+    public List<Object> values() {
+        return values;
+    }
+
+    /** Encodes the cursor as an opaque URL-safe token. */
+    public String encode() {
+        StringBuilder builder = new StringBuilder();
+        for (Object value : values) {
+            if (value == null) {
+                builder.append('-');
+            } else {
+                String string = value.toString();
+                builder.append(string.length()).append(':').append(string);
+            }
+        }
+        return ENCODER.encodeToString(builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SeekCursor other && values.equals(other.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "SeekCursor" + values;
+    }
+}
@@ -0,0 +1,22 @@
+package com.libentity.jooqsupport;
+
+import com.libentity.jooqsupport.annotation.SortDirection;
+
+/**
+ * A client-requested sort on a field whitelisted with {@link com.libentity.jooqsupport.annotation.JooqSortable}.
+ * Filters carry them in a {@code List<SortRequest>} field, which the generated {@code getSortFields} maps to jOOQ sort
+ * fields in order.
+ *
+ * @param field The sortable name of the field
+ * @param direction The sort direction
+ */
+public record SortRequest(String field, SortDirection direction) {
+
+    public static SortRequest asc(String field) {
+        return new SortRequest(field, SortDirection.ASC);
+    }
+
+    public static SortRequest desc(String field) {
+        return new SortRequest(field, SortDirection.DESC);
+    }
+}
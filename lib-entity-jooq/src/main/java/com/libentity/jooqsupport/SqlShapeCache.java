@@ -0,0 +1,146 @@
+package com.libentity.jooqsupport;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.jooq.Condition;
+import org.jooq.Context;
+import org.jooq.DSLContext;
+import org.jooq.QueryPart;
+import org.jooq.SQLDialect;
+import org.jooq.conf.ParamType;
+import org.jooq.conf.Settings;
+import org.jooq.conf.SettingsTools;
+import org.jooq.impl.CustomCondition;
+import org.jooq.impl.DSL;
+
+/**
+ * Bounded LRU cache of rendered SQL per query shape.
+ * <p>
+ * The SQL text of a filter condition only depends on which filter values are present, not on the values themselves.
+ * Meta-classes generated for a {@link com.libentity.jooqsupport.annotation.JooqFilter} describe the present values as
+ * a bitmask, the shape, and render the condition once per shape with {@code ?} placeholders. Later calls with the same
+ * shape reuse the text and only bind values, which skips rendering the condition tree and keeps the statement text
+ * stable, so the driver can reuse server-side prepared statements.
+ * </p>
+ * <p>
+ * Entries are kept per dialect and {@link Settings} instance, as both change the rendered text. When more than
+ * {@code maxShapes} entries are cached the least recently used one is evicted.
+ * </p>
+ * <p>
+ * The text holds the table's qualifiers as rendered, so it cannot follow an aliased table such as
+ * {@code INVOICE.as("i")}; neither can the uncached condition, which references the same table constant. Conditions
+ * returned by {@link #condition} stay jOOQ query parts: rendered with another dialect or settings they render the
+ * original condition instead of the cached text.
+ * </p>
+ */
+public final class SqlShapeCache {
+    /** Number of shapes kept unless another bound is given. */
+    public static final int DEFAULT_MAX_SHAPES = 256;
+
+    private final Map<Key, String> sql;
+
+    public SqlShapeCache() {
+        this(DEFAULT_MAX_SHAPES);
+    }
+
+    public SqlShapeCache(int maxShapes) {
+        if (maxShapes <= 0) {
+            throw new IllegalArgumentException("maxShapes must be positive: " + maxShapes);
+        }
+        this.sql = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                return size() > maxShapes;
+            }
+        };
+    }
+
+    /**
+     * Returns the SQL of the given shape, rendering the query part built by {@code queryPart} with indexed
+     * {@code ?} placeholders if the shape is not cached yet.
+     *
+     * @param dsl The context the SQL is rendered for
+     * @param shape The shape, a non-negative bitmask
+     * @param queryPart Builds the query part for the shape, typically the filter condition
+     */
+    public String get(DSLContext dsl, long shape, Supplier<? extends QueryPart> queryPart) {
+        Settings settings = dsl.settings();
+        Key key = new Key(dsl.dialect(), settings, shape);
+        synchronized (sql) {
+            String cached = sql.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        Settings indexed = SettingsTools.clone(settings).withParamType(ParamType.INDEXED);
+        String rendered = DSL.using(dsl.configuration().derive(indexed)).render(queryPart.get());
+        synchronized (sql) {
+            sql.put(key, rendered);
+        }
+        return rendered;
+    }
+
+    /**
+     * Returns a condition that renders the cached SQL of the shape with the given bind values. The SQL is rendered
+     * from {@code condition} if the shape is not cached yet. Rendered by a context with another dialect or
+     * {@link Settings} instance than {@code dsl}, the condition renders {@code condition} itself.
+     *
+     * @param dsl The context the SQL is rendered for
+     * @param shape The shape, a non-negative bitmask
+     * @param condition Builds the condition for the shape, with the values bound below
+     * @param binds The bind values, in the order of the placeholders
+     */
+    public Condition condition(
+            DSLContext dsl, long shape, Supplier<? extends Condition> condition, List<? extends QueryPart> binds) {
+        return new ShapeCondition(dsl.dialect(), dsl.settings(), get(dsl, shape, condition), binds, condition);
+    }
+
+    /** Number of cached shapes. */
+    public int size() {
+        synchronized (sql) {
+            return sql.size();
+        }
+    }
+
+    private static final class ShapeCondition extends CustomCondition {
+        private final SQLDialect dialect;
+        private final Settings settings;
+        private final Condition cached;
+        private final Supplier<? extends Condition> condition;
+
+        ShapeCondition(
+                SQLDialect dialect,
+                Settings settings,
+                String sql,
+                List<? extends QueryPart> binds,
+                Supplier<? extends Condition> condition) {
+            this.dialect = dialect;
+            this.settings = settings;
+            this.cached = DSL.condition(sql, binds.toArray());
+            this.condition = condition;
+        }
+
+        @Override
+        public void accept(Context<?> ctx) {
+            ctx.visit(ctx.dialect() == dialect && ctx.settings() == settings ? cached : condition.get());
+        }
+    }
+
+    /** Settings are compared by identity, as comparing them by value would cost more than rendering. */
+    private record Key(SQLDialect dialect, Settings settings, long shape) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other
+                    && dialect == other.dialect
+                    && settings == other.settings
+                    && shape == other.shape;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * dialect.hashCode() + System.identityHashCode(settings)) + Long.hashCode(shape);
+        }
+    }
+}
@@ -10,4 +10,16 @@ public @interface JooqFilter {
     String tableClass();
 
     String tableVar();
+
+    /**
+     * Unique column used as tiebreaker after the default sort, for example {@code "id"}. When set, the generated
+     * meta-class gets keyset pagination helpers ({@code seek} and {@code nextCursor}).
+     */
+    String uniqueKey() default "";
+
+    /**
+     * Fields clients may sort by. The filter carries the requested sorts in a {@code List<SortRequest>} field, and
+     * the generated {@code getSortFields} falls back to {@link #defaultSort()} when it is null or empty.
+     */
+    JooqSortable[] sortable() default {};
 }
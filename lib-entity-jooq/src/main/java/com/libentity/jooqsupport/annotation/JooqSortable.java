@@ -0,0 +1,17 @@
+package com.libentity.jooqsupport.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * Declares a field clients may sort by through {@link com.libentity.jooqsupport.SortRequest}s. Only whitelisted fields
+ * are mapped, so sorting stays on indexed columns.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({})
+public @interface JooqSortable {
+    /** The jOOQ field, in the same form as {@link JooqDefaultSort#field()}. */
+    String field();
+
+    /** The name clients use in {@link com.libentity.jooqsupport.SortRequest#field()}, defaults to {@link #field()}. */
+    String name() default "";
+}
@@ -2,6 +2,7 @@ package com.libentity.jooqsupport.processor;
 
 import com.libentity.jooqsupport.annotation.JooqFilter;
 import com.libentity.jooqsupport.annotation.JooqFilterField;
+import com.libentity.jooqsupport.annotation.JooqSortable;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.FieldSpec;
@@ -10,9 +11,12 @@ import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
 import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
+import com.squareup.javapoet.WildcardTypeName;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import javax.annotation.processing.AbstractProcessor;
@@ -25,7 +29,11 @@ import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
 import javax.tools.Diagnostic;
 
 @SupportedAnnotationTypes({
@@ -34,6 +42,8 @@ import javax.tools.Diagnostic;
 })
 @SupportedSourceVersion(SourceVersion.RELEASE_21)
 public class JooqFilterAnnotationProcessor extends AbstractProcessor {
+    private static final ClassName SORT_REQUEST = ClassName.get("com.libentity.jooqsupport", "SortRequest");
+
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
         for (Element element : roundEnv.getElementsAnnotatedWith(JooqFilter.class)) {
@@ -51,7 +61,18 @@ public class JooqFilterAnnotationProcessor extends AbstractProcessor {
             List<VariableElement> fields = ElementFilter.fieldsIn(filterClass.getEnclosedElements());
             List<FieldSpec> metaFields = new ArrayList<>();
             CodeBlock.Builder conditionBuilder = CodeBlock.builder();
-            conditionBuilder.addStatement("org.jooq.Condition condition = org.jooq.impl.DSL.trueCondition()");
+            // Collect conditions into a flat list, combined once with DSL.and
+            long filterFieldCount = fields.stream()
+                    .filter(field -> field.getAnnotation(JooqFilterField.class) != null)
+                    .count();
+            conditionBuilder.addStatement(
+                    "java.util.List<org.jooq.Condition> conditions = new java.util.ArrayList<>($L)", filterFieldCount);
+            // Shape bitmask of present values and the matching bind values, in condition order
+            CodeBlock.Builder shapeBuilder = CodeBlock.builder().addStatement("long shape = 0L");
+            CodeBlock.Builder bindBuilder = CodeBlock.builder()
+                    .addStatement(
+                            "java.util.List<org.jooq.QueryPart> binds = new java.util.ArrayList<>(Long.bitCount(shape))");
+            int shapeBits = 0;
 
             // Define table class for static field references
             JooqFilter jooqFilterAnnotation = filterClass.getAnnotation(JooqFilter.class);
@@ -91,76 +112,41 @@ public class JooqFilterAnnotationProcessor extends AbstractProcessor {
 
                 boolean isChronoLocalDate = field.asType().toString().contains("ChronoLocalDate");
                 String valueCast = isChronoLocalDate ? ".query(java.time.LocalDate::from)" : "";
+                String getter = "filter.get" + capitalize(fieldName) + "()";
 
                 if (field.asType().toString().contains("RangeFilter")) {
-                    // gt (GT comparator)
-                    conditionBuilder.beginControlFlow(
-                            "if (filter.get$L() != null && filter.get$L().getGt() != null)",
-                            capitalize(fieldName),
-                            capitalize(fieldName));
-                    conditionBuilder.addStatement(
-                            "condition = condition.and($L.gt(filter.get$L().getGt()$L))",
-                            jooqFieldRef,
-                            capitalize(fieldName),
-                            valueCast);
-                    conditionBuilder.endControlFlow();
-                    // gte (GTE comparator)
-                    conditionBuilder.beginControlFlow(
-                            "if (filter.get$L() != null && filter.get$L().getGte() != null)",
-                            capitalize(fieldName),
-                            capitalize(fieldName));
-                    conditionBuilder.addStatement(
-                            "condition = condition.and($L.ge(filter.get$L().getGte()$L))",
-                            jooqFieldRef,
-                            capitalize(fieldName),
-                            valueCast);
-                    conditionBuilder.endControlFlow();
-                    // lt (LT comparator)
-                    conditionBuilder.beginControlFlow(
-                            "if (filter.get$L() != null && filter.get$L().getLt() != null)",
-                            capitalize(fieldName),
-                            capitalize(fieldName));
-                    conditionBuilder.addStatement(
-                            "condition = condition.and($L.lt(filter.get$L().getLt()$L))",
-                            jooqFieldRef,
-                            capitalize(fieldName),
-                            valueCast);
-                    conditionBuilder.endControlFlow();
-                    // lte (LTE comparator)
-                    conditionBuilder.beginControlFlow(
-                            "if (filter.get$L() != null && filter.get$L().getLte() != null)",
-                            capitalize(fieldName),
-                            capitalize(fieldName));
-                    conditionBuilder.addStatement(
-                            "condition = condition.and($L.le(filter.get$L().getLte()$L))",
-                            jooqFieldRef,
-                            capitalize(fieldName),
-                            valueCast);
-                    conditionBuilder.endControlFlow();
-                    // eq (EQ comparator)
-                    conditionBuilder.beginControlFlow(
-                            "if (filter.get$L() != null && filter.get$L().getEq() != null)",
-                            capitalize(fieldName),
-                            capitalize(fieldName));
-                    conditionBuilder.addStatement(
-                            "condition = condition.and($L.eq(filter.get$L().getEq()$L))",
-                            jooqFieldRef,
-                            capitalize(fieldName),
-                            valueCast);
-                    conditionBuilder.endControlFlow();
+                    // gt, gte, lt, lte and eq comparators, one shape bit each
+                    String[][] comparisons = {{"Gt", "gt"}, {"Gte", "ge"}, {"Lt", "lt"}, {"Lte", "le"}, {"Eq", "eq"}};
+                    for (String[] comparison : comparisons) {
+                        String bound = getter + ".get" + comparison[0] + "()";
+                        shapeBits = addComparison(
+                                conditionBuilder,
+                                shapeBuilder,
+                                bindBuilder,
+                                shapeBits,
+                                getter + " != null && " + bound + " != null",
+                                jooqFieldRef,
+                                comparison[1],
+                                bound + valueCast);
+                    }
                 } else if (field.asType().toString().equals("java.util.Set<java.lang.String>")) {
-                    conditionBuilder.beginControlFlow(
-                            "if (filter.get$L() != null && !filter.get$L().isEmpty())",
-                            capitalize(fieldName),
-                            capitalize(fieldName));
-                    conditionBuilder.addStatement(
-                            "condition = condition.and($L.in(filter.get$L()))", jooqFieldRef, capitalize(fieldName));
+                    conditionBuilder.beginControlFlow("if ($L != null && !$L.isEmpty())", getter, getter);
+                    conditionBuilder.addStatement("conditions.add($L.in($L))", jooqFieldRef, getter);
                     conditionBuilder.endControlFlow();
+                    // The number of placeholders depends on the size of the set
+                    shapeBuilder.beginControlFlow("if ($L != null && !$L.isEmpty())", getter, getter);
+                    shapeBuilder.addStatement("return -1L");
+                    shapeBuilder.endControlFlow();
                 } else if (field.asType().toString().equals("java.lang.Boolean")) {
-                    conditionBuilder.beginControlFlow("if (filter.get$L() != null)", capitalize(fieldName));
-                    conditionBuilder.addStatement(
-                            "condition = condition.and($L.eq(filter.get$L()))", jooqFieldRef, capitalize(fieldName));
-                    conditionBuilder.endControlFlow();
+                    shapeBits = addComparison(
+                            conditionBuilder,
+                            shapeBuilder,
+                            bindBuilder,
+                            shapeBits,
+                            getter + " != null",
+                            jooqFieldRef,
+                            "eq",
+                            getter);
                 }
             }
 
@@ -184,15 +170,20 @@ public class JooqFilterAnnotationProcessor extends AbstractProcessor {
                     conditionBuilder.beginControlFlow("if (mapper != null)");
                     conditionBuilder.addStatement("org.jooq.Condition virtualCond = mapper.map(filter)");
                     conditionBuilder.beginControlFlow("if (virtualCond != null)");
-                    conditionBuilder.addStatement("condition = condition.and(virtualCond)");
+                    conditionBuilder.addStatement("conditions.add(virtualCond)");
                     conditionBuilder.endControlFlow();
                     conditionBuilder.endControlFlow();
                     conditionBuilder.endControlFlow();
+                    // Mappers may render anything, so their SQL is never cached
+                    shapeBuilder.beginControlFlow("if (filter.get$L() != null)", capitalize(vFieldName));
+                    shapeBuilder.addStatement("return -1L");
+                    shapeBuilder.endControlFlow();
                 }
                 conditionBuilder.endControlFlow();
             }
+            shapeBuilder.addStatement("return shape");
 
-            conditionBuilder.addStatement("return condition");
+            conditionBuilder.addStatement("return org.jooq.impl.DSL.and(conditions)");
 
             // Factory interface for virtual mappers
             TypeSpec.Builder factoryBuilder = TypeSpec.interfaceBuilder(metaClassName + "VirtualMapperFactory")
@@ -237,7 +228,7 @@ public class JooqFilterAnnotationProcessor extends AbstractProcessor {
                         .build();
             }
 
-            // Sorting: only default for now
+            // Sorting: requested sorts on whitelisted fields, then the default
             JooqFilter jooqFilterAnn = filterClass.getAnnotation(JooqFilter.class);
             String defaultSortField = null;
             String defaultSortDir = null;
@@ -246,6 +237,7 @@ public class JooqFilterAnnotationProcessor extends AbstractProcessor {
                 defaultSortDir = jooqFilterAnn.defaultSort().direction().toString();
             }
             CodeBlock.Builder sortBuilder = CodeBlock.builder();
+            addRequestedSorts(sortBuilder, filterClass, fields, jooqTableClass + "." + jooqTableVar);
             if (defaultSortField != null && defaultSortDir != null) {
                 String sortFieldConst = toUpperSnakeCase(defaultSortField);
                 // Fix: only append field if not empty to avoid double dot
@@ -263,7 +255,9 @@ public class JooqFilterAnnotationProcessor extends AbstractProcessor {
             MethodSpec getSortFields = MethodSpec.methodBuilder("getSortFields")
                     .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
                     .returns(ParameterizedTypeName.get(
-                            ClassName.get(List.class), ClassName.get("org.jooq", "SortField")))
+                            ClassName.get(List.class),
+                            ParameterizedTypeName.get(
+                                    ClassName.get("org.jooq", "SortField"), WildcardTypeName.subtypeOf(Object.class))))
                     .addParameter(ClassName.get(packageName, filterClassName), "filter")
                     .addCode(sortBuilder.build())
                     .build();
@@ -273,6 +267,22 @@ public class JooqFilterAnnotationProcessor extends AbstractProcessor {
                     .addFields(metaFields)
                     .addMethod(toCondition)
                     .addMethod(getSortFields);
+            ClassName factoryType = virtualFields.isEmpty()
+                    ? null
+                    : ClassName.get(packageName, metaClassName, metaClassName + "VirtualMapperFactory");
+            boolean shapeCached =
+                    addShapeCaching(metaClassBuilder, filterClass, shapeBuilder, bindBuilder, shapeBits, factoryType);
+            addQueryHelpers(
+                    metaClassBuilder, filterClass, packageName, jooqTableClass, jooqTableVar, factoryType, shapeCached);
+            if (!jooqFilterAnn.uniqueKey().isEmpty()) {
+                addSeekPagination(
+                        metaClassBuilder,
+                        ClassName.get(filterClass),
+                        jooqTableClass + "." + jooqTableVar,
+                        defaultSortField,
+                        "DESC".equals(defaultSortDir) ? "desc" : "asc",
+                        jooqFilterAnn.uniqueKey());
+            }
             if (!virtualFields.isEmpty()) {
                 metaClassBuilder.addType(factoryBuilder.build());
             }
@@ -291,6 +301,340 @@ public class JooqFilterAnnotationProcessor extends AbstractProcessor {
         return true;
     }
 
+    /**
+     * Emits {@code if (present) conditions.add(field.op(value))} into toCondition and the matching shape bit and bind
+     * value, so the cached SQL and its bind values always line up.
+     *
+     * @return The number of shape bits used so far
+     */
+    private static int addComparison(
+            CodeBlock.Builder conditionBuilder,
+            CodeBlock.Builder shapeBuilder,
+            CodeBlock.Builder bindBuilder,
+            int shapeBits,
+            String present,
+            String jooqFieldRef,
+            String operator,
+            String value) {
+        conditionBuilder.beginControlFlow("if ($L)", present);
+        conditionBuilder.addStatement("conditions.add($L.$L($L))", jooqFieldRef, operator, value);
+        conditionBuilder.endControlFlow();
+        shapeBuilder.beginControlFlow("if ($L)", present);
+        shapeBuilder.addStatement("shape |= 1L << $L", shapeBits);
+        shapeBuilder.endControlFlow();
+        bindBuilder.beginControlFlow("if ($L)", present);
+        bindBuilder.addStatement("binds.add(org.jooq.impl.DSL.val($L, $L))", value, jooqFieldRef);
+        bindBuilder.endControlFlow();
+        return shapeBits + 1;
+    }
+
+    /**
+     * shape and toCachedCondition render the condition once per combination of present values and only bind values
+     * afterwards. A shape is a long, so filters with more than 63 comparisons are left uncached.
+     *
+     * @return Whether the helpers were generated
+     */
+    private boolean addShapeCaching(
+            TypeSpec.Builder metaClassBuilder,
+            TypeElement filterClass,
+            CodeBlock.Builder shapeBuilder,
+            CodeBlock.Builder bindBuilder,
+            int shapeBits,
+            ClassName factoryType) {
+        if (shapeBits > 63) {
+            processingEnv
+                    .getMessager()
+                    .printMessage(
+                            Diagnostic.Kind.NOTE,
+                            "Not generating toCachedCondition: " + shapeBits + " comparisons do not fit a shape",
+                            filterClass);
+            return false;
+        }
+        ClassName sqlShapeCache = ClassName.get("com.libentity.jooqsupport", "SqlShapeCache");
+        ClassName filterType = ClassName.get(filterClass);
+        String condition = factoryType == null ? "toCondition(filter)" : "toCondition(filter, factory)";
+        metaClassBuilder.addField(FieldSpec.builder(sqlShapeCache, "SQL_SHAPES")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .initializer("new $T()", sqlShapeCache)
+                .build());
+        metaClassBuilder.addMethod(MethodSpec.methodBuilder("shape")
+                .addJavadoc("Bitmask of the comparisons present in the filter, or -1 if its SQL cannot be cached"
+                        + " because it has\nIN values or virtual fields.\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(long.class)
+                .addParameter(filterType, "filter")
+                .addCode(shapeBuilder.build())
+                .build());
+        MethodSpec.Builder cached = MethodSpec.methodBuilder("toCachedCondition")
+                .addJavadoc("Same condition as toCondition, rendered once per shape and reused with new bind values."
+                        + " Like toCondition,\nit references the unaliased table.\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(ClassName.get("org.jooq", "Condition"))
+                .addParameter(ClassName.get("org.jooq", "DSLContext"), "dsl")
+                .addParameter(filterType, "filter");
+        if (factoryType != null) {
+            cached.addParameter(factoryType, "factory");
+        }
+        cached.addStatement("long shape = shape(filter)")
+                .beginControlFlow("if (shape < 0)")
+                .addStatement("return $L", condition)
+                .endControlFlow()
+                .beginControlFlow("if (shape == 0)")
+                .addStatement("return org.jooq.impl.DSL.noCondition()")
+                .endControlFlow()
+                .addCode(bindBuilder.build())
+                .addStatement("return SQL_SHAPES.condition(dsl, shape, () -> $L, binds)", condition);
+        metaClassBuilder.addMethod(cached.build());
+        return true;
+    }
+
+    /**
+     * count, exists and fetchPage run the filter's condition against the table. They need the record type of the
+     * table, so they are only generated when the table variable resolves to a jOOQ {@code Table}.
+     */
+    private void addQueryHelpers(
+            TypeSpec.Builder metaClassBuilder,
+            TypeElement filterClass,
+            String packageName,
+            String tableClass,
+            String tableVar,
+            ClassName factoryType,
+            boolean shapeCached) {
+        TypeMirror recordType = tableRecordType(packageName, tableClass, tableVar);
+        if (recordType == null) {
+            processingEnv
+                    .getMessager()
+                    .printMessage(
+                            Diagnostic.Kind.NOTE,
+                            "Not generating count, exists and fetchPage: " + tableClass + "." + tableVar
+                                    + " is not a resolvable jOOQ Table",
+                            filterClass);
+            return;
+        }
+        String tableRef = tableClass + "." + tableVar;
+        String condition = (shapeCached ? "toCachedCondition(dsl, " : "toCondition(")
+                + (factoryType == null ? "filter)" : "filter, factory)");
+        ClassName dslContext = ClassName.get("org.jooq", "DSLContext");
+        ClassName filterType = ClassName.get(filterClass);
+
+        MethodSpec.Builder count = MethodSpec.methodBuilder("count")
+                .addJavadoc("Number of rows matching the filter.\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(int.class)
+                .addParameter(dslContext, "dsl")
+                .addParameter(filterType, "filter");
+        MethodSpec.Builder exists = MethodSpec.methodBuilder("exists")
+                .addJavadoc("Whether any row matches the filter, stopping at the first match.\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(boolean.class)
+                .addParameter(dslContext, "dsl")
+                .addParameter(filterType, "filter");
+        MethodSpec.Builder fetchPage = MethodSpec.methodBuilder("fetchPage")
+                .addJavadoc("One page of rows matching the filter, sorted by getSortFields, and the total number of"
+                        + " matching rows, in a single query.\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(ParameterizedTypeName.get(
+                        ClassName.get("com.libentity.jooqsupport", "Page"), TypeName.get(recordType)))
+                .addParameter(dslContext, "dsl")
+                .addParameter(filterType, "filter");
+        if (factoryType != null) {
+            count.addParameter(factoryType, "factory");
+            exists.addParameter(factoryType, "factory");
+            fetchPage.addParameter(factoryType, "factory");
+        }
+        fetchPage.addParameter(int.class, "limit").addParameter(int.class, "offset");
+
+        metaClassBuilder.addMethod(count.addStatement("return dsl.fetchCount($L, $L)", tableRef, condition)
+                .build());
+        metaClassBuilder.addMethod(exists.addStatement("return dsl.fetchExists($L, $L)", tableRef, condition)
+                .build());
+        metaClassBuilder.addMethod(fetchPage
+                .addStatement(
+                        "return $T.fetch(dsl, $L, $L, getSortFields(filter), limit, offset)",
+                        ClassName.get("com.libentity.jooqsupport", "Page"),
+                        tableRef,
+                        condition)
+                .build());
+    }
+
+    /** The record type R of {@code tableClass.tableVar} if it is a {@code Table<R>}, null otherwise. */
+    private TypeMirror tableRecordType(String packageName, String tableClass, String tableVar) {
+        Elements elements = processingEnv.getElementUtils();
+        TypeElement table = elements.getTypeElement(tableClass);
+        if (table == null) {
+            table = elements.getTypeElement(packageName + "." + tableClass);
+        }
+        if (table == null) {
+            return null;
+        }
+        for (VariableElement field : ElementFilter.fieldsIn(table.getEnclosedElements())) {
+            if (field.getSimpleName().contentEquals(tableVar)) {
+                return findTableRecordType(field.asType());
+            }
+        }
+        return null;
+    }
+
+    private TypeMirror findTableRecordType(TypeMirror type) {
+        if (type instanceof DeclaredType declared
+                && ((TypeElement) declared.asElement()).getQualifiedName().contentEquals("org.jooq.Table")) {
+            List<? extends TypeMirror> arguments = declared.getTypeArguments();
+            return arguments.size() == 1 && arguments.get(0).getKind() == TypeKind.DECLARED ? arguments.get(0) : null;
+        }
+        for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+            TypeMirror recordType = findTableRecordType(supertype);
+            if (recordType != null) {
+                return recordType;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps the filter's {@code List<SortRequest>} field, if any, to the fields whitelisted in
+     * {@link JooqFilter#sortable()} with a switch on the sortable name, so no reflection happens at runtime.
+     */
+    private void addRequestedSorts(
+            CodeBlock.Builder sortBuilder, TypeElement filterClass, List<VariableElement> fields, String tableRef) {
+        JooqSortable[] sortables = filterClass.getAnnotation(JooqFilter.class).sortable();
+        VariableElement sortRequests = null;
+        for (VariableElement field : fields) {
+            if (field.asType().toString().equals("java.util.List<" + SORT_REQUEST.canonicalName() + ">")) {
+                sortRequests = field;
+            }
+        }
+        if (sortRequests == null) {
+            if (sortables.length > 0) {
+                processingEnv
+                        .getMessager()
+                        .printMessage(
+                                Diagnostic.Kind.ERROR,
+                                "@JooqFilter declares sortable fields but the filter has no List<SortRequest> field",
+                                filterClass);
+            }
+            return;
+        }
+        if (sortables.length == 0) {
+            processingEnv
+                    .getMessager()
+                    .printMessage(
+                            Diagnostic.Kind.ERROR,
+                            "List<SortRequest> field requires @JooqFilter(sortable = ...) to whitelist sortable fields",
+                            sortRequests);
+            return;
+        }
+        String getter = "filter.get" + capitalize(sortRequests.getSimpleName().toString()) + "()";
+        ClassName sortField = ClassName.get("org.jooq", "SortField");
+        sortBuilder.beginControlFlow("if ($L != null && !$L.isEmpty())", getter, getter);
+        sortBuilder.addStatement(
+                "$T<$T<?>> sortFields = new $T<>()", List.class, sortField, ClassName.get("java.util", "ArrayList"));
+        sortBuilder.beginControlFlow("for ($T sort : $L)", SORT_REQUEST, getter);
+        sortBuilder.addStatement(
+                "boolean desc = sort.direction() == $T.DESC",
+                ClassName.get("com.libentity.jooqsupport.annotation", "SortDirection"));
+        sortBuilder.beginControlFlow("switch (sort.field())");
+        Set<String> names = new HashSet<>();
+        for (JooqSortable sortable : sortables) {
+            String name = sortable.name().isEmpty() ? sortable.field() : sortable.name();
+            if (!names.add(name)) {
+                processingEnv
+                        .getMessager()
+                        .printMessage(Diagnostic.Kind.ERROR, "Duplicate sortable field '" + name + "'", filterClass);
+                continue;
+            }
+            String fieldRef = tableRef + "." + toUpperSnakeCase(sortable.field());
+            sortBuilder.addStatement(
+                    "case $S -> sortFields.add(desc ? $L.desc() : $L.asc())", name, fieldRef, fieldRef);
+        }
+        sortBuilder.addStatement(
+                "default -> throw new IllegalArgumentException(\"Cannot sort by '\" + sort.field() + \"'\")");
+        sortBuilder.endControlFlow();
+        sortBuilder.endControlFlow();
+        sortBuilder.addStatement("return sortFields");
+        sortBuilder.endControlFlow();
+    }
+
+    /**
+     * Keyset pagination: SEEK_FIELDS and SEEK_ORDER sort by the default sort field, then by the unique key in the same
+     * direction, and seek/nextCursor delegate to {@link com.libentity.jooqsupport.SeekCursor}.
+     */
+    private static void addSeekPagination(
+            TypeSpec.Builder metaClassBuilder,
+            ClassName filterType,
+            String tableRef,
+            String sortField,
+            String direction,
+            String uniqueKey) {
+        List<String> seekFieldRefs = new ArrayList<>();
+        if (sortField != null && !sortField.isEmpty() && !sortField.equals(uniqueKey)) {
+            seekFieldRefs.add(tableRef + "." + toUpperSnakeCase(sortField));
+        }
+        seekFieldRefs.add(tableRef + "." + toUpperSnakeCase(uniqueKey));
+
+        ClassName field = ClassName.get("org.jooq", "Field");
+        ClassName sortFieldType = ClassName.get("org.jooq", "SortField");
+        ClassName record = ClassName.get("org.jooq", "Record");
+        ClassName seekCursor = ClassName.get("com.libentity.jooqsupport", "SeekCursor");
+        TypeName wildcard = WildcardTypeName.subtypeOf(Object.class);
+        metaClassBuilder.addField(FieldSpec.builder(
+                        ParameterizedTypeName.get(
+                                ClassName.get(List.class), ParameterizedTypeName.get(field, wildcard)),
+                        "SEEK_FIELDS",
+                        Modifier.PUBLIC,
+                        Modifier.STATIC,
+                        Modifier.FINAL)
+                .initializer("java.util.List.of($L)", String.join(", ", seekFieldRefs))
+                .build());
+        metaClassBuilder.addField(FieldSpec.builder(
+                        ParameterizedTypeName.get(
+                                ClassName.get(List.class), ParameterizedTypeName.get(sortFieldType, wildcard)),
+                        "SEEK_ORDER",
+                        Modifier.PUBLIC,
+                        Modifier.STATIC,
+                        Modifier.FINAL)
+                .initializer(
+                        "java.util.List.of($L)",
+                        String.join(
+                                ", ",
+                                seekFieldRefs.stream()
+                                        .map(ref -> ref + "." + direction + "()")
+                                        .toList()))
+                .build());
+
+        TypeVariableName r = TypeVariableName.get("R", record);
+        metaClassBuilder.addMethod(MethodSpec.methodBuilder("seek")
+                .addJavadoc("Orders the query by SEEK_ORDER and starts after the row of the cursor, or at the first row"
+                        + " when the cursor is null.\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addTypeVariable(r)
+                .returns(ParameterizedTypeName.get(ClassName.get("org.jooq", "SelectForUpdateStep"), r))
+                .addParameter(ParameterizedTypeName.get(ClassName.get("org.jooq", "SelectOrderByStep"), r), "select")
+                .addParameter(String.class, "cursor")
+                .addParameter(int.class, "pageSize")
+                .addStatement("return $T.seek(select, SEEK_ORDER, SEEK_FIELDS, cursor, pageSize)", seekCursor)
+                .build());
+        metaClassBuilder.addMethod(MethodSpec.methodBuilder("seek")
+                .addJavadoc("Same as seek(select, cursor, pageSize), rejecting a filter that requests a sort other than"
+                        + " SEEK_ORDER,\nsince the cursor pages in that order.\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addTypeVariable(r)
+                .returns(ParameterizedTypeName.get(ClassName.get("org.jooq", "SelectForUpdateStep"), r))
+                .addParameter(ParameterizedTypeName.get(ClassName.get("org.jooq", "SelectOrderByStep"), r), "select")
+                .addParameter(filterType, "filter")
+                .addParameter(String.class, "cursor")
+                .addParameter(int.class, "pageSize")
+                .addStatement("$T.requireSeekOrder(getSortFields(filter), SEEK_ORDER)", seekCursor)
+                .addStatement("return seek(select, cursor, pageSize)")
+                .build());
+        metaClassBuilder.addMethod(MethodSpec.methodBuilder("nextCursor")
+                .addJavadoc("The cursor of the page ending with the given record.\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(String.class)
+                .addParameter(record, "lastRecord")
+                .addStatement("return $T.of(lastRecord, SEEK_FIELDS).encode()", seekCursor)
+                .build());
+    }
+
     private static String capitalize(String s) {
         if (s == null || s.isEmpty()) return s;
         return s.substring(0, 1).toUpperCase() + s.substring(1);
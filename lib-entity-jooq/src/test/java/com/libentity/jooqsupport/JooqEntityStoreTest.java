@@ -0,0 +1,127 @@
+package com.libentity.jooqsupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.TableField;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.jooq.impl.TableImpl;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.Test;
+
+public class JooqEntityStoreTest {
+
+    static class Users extends TableImpl<Record> {
+        static final Users USERS = new Users();
+
+        final TableField<Record, Long> ID = createField(DSL.name("id"), SQLDataType.BIGINT);
+        final TableField<Record, String> NAME = createField(DSL.name("name"), SQLDataType.VARCHAR);
+
+        Users() {
+            super(DSL.name("users"));
+        }
+    }
+
+    record User(Long id, String name) {}
+
+    static class UserStore extends JooqEntityStore<User, Long, Record> {
+        UserStore(DSLContext dsl) {
+            super(dsl, Users.USERS, Users.USERS.ID);
+        }
+
+        @Override
+        protected User toEntity(Record record) {
+            return new User(record.get(Users.USERS.ID), record.get(Users.USERS.NAME));
+        }
+
+        @Override
+        protected void fromEntity(Record record, User user) {
+            if (user.id() != null) {
+                record.set(Users.USERS.ID, user.id());
+            }
+            record.set(Users.USERS.NAME, user.name());
+        }
+
+        @Override
+        protected int getChunkSize() {
+            return 2;
+        }
+    }
+
+    private final List<String> statements = new ArrayList<>();
+    private final List<String> batchStatements = new ArrayList<>();
+    private final List<Integer> batchBindSets = new ArrayList<>();
+
+    private final DSLContext dsl = DSL.using(
+            new MockConnection(ctx -> {
+                // A prepared batch with a single bind set does not count as a batch for the mock
+                if (ctx.batch() || ctx.sql().startsWith("insert")) {
+                    batchStatements.addAll(Arrays.asList(ctx.batchSQL()));
+                    batchBindSets.add(ctx.batchBindings().length);
+                    MockResult[] results = new MockResult[Math.max(ctx.batchSQL().length, ctx.batchBindings().length)];
+                    Arrays.fill(results, new MockResult(1));
+                    return results;
+                }
+                statements.add(ctx.sql());
+                DSLContext create = DSL.using(SQLDialect.POSTGRES);
+                Result<Record> result = create.newResult(Users.USERS);
+                for (Object id : ctx.bindings()) {
+                    Record record = create.newRecord(Users.USERS);
+                    record.set(Users.USERS.ID, (Long) id);
+                    record.set(Users.USERS.NAME, "user-" + id);
+                    result.add(record);
+                }
+                return new MockResult[] {new MockResult(result.size(), result)};
+            }),
+            SQLDialect.POSTGRES);
+
+    private final UserStore store = new UserStore(dsl);
+
+    @Test
+    void loadAllSelectsWithInListInChunks() {
+        List<User> users = store.loadAll(List.of(1L, 2L, 3L));
+
+        assertThat(users).extracting(User::name).containsExactly("user-1", "user-2", "user-3");
+        assertThat(statements).hasSize(2);
+        assertThat(statements.get(0)).contains("where \"users\".\"id\" in (?, ?)");
+    }
+
+    @Test
+    void saveAllBindsOnePreparedUpsertPerEntity() {
+        store.saveAll(LongStream.rangeClosed(1, 5)
+                .mapToObj(id -> new User(id, "user-" + id))
+                .toList());
+
+        assertThat(statements).isEmpty();
+        assertThat(batchBindSets).containsExactly(2, 2, 1);
+        assertThat(batchStatements).hasSize(3).allSatisfy(sql -> assertThat(sql)
+                .contains("values (?, ?)")
+                .contains("on conflict (\"id\") do update set \"id\" = excluded.\"id\""));
+    }
+
+    @Test
+    void saveAllBatchesEntitiesWithoutIdSeparately() {
+        store.saveAll(List.of(new User(1L, "a"), new User(null, "b")));
+
+        assertThat(batchBindSets).containsExactly(1, 1);
+        assertThat(batchStatements.get(1)).contains("insert into \"users\" (\"name\") values (?)");
+    }
+
+    @Test
+    void streamWhereMapsRowsLazily() {
+        try (Stream<User> users = store.streamWhere(Users.USERS.ID.in(1L, 2L), Users.USERS.ID.asc())) {
+            assertThat(users).extracting(User::name).containsExactly("user-1", "user-2");
+        }
+        assertThat(statements.get(0)).contains("order by \"users\".\"id\" asc");
+    }
+}
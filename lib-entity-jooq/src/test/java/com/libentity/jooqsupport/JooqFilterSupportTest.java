@@ -8,6 +8,7 @@ import com.libentity.core.filter.RangeFilter;
 import java.util.*;
 import org.jooq.Condition;
 import org.jooq.Field;
+import org.jooq.SQLDialect;
 import org.jooq.impl.DSL;
 import org.junit.jupiter.api.Test;
 
@@ -77,4 +78,57 @@ public class JooqFilterSupportTest {
         Condition condition = JooqFilterSupport.buildCondition(filter, FILTER_DEFINITION, FIELD_MAPPING);
         assertThat(condition.toString()).contains("age = 25").contains("name = 'Alice'");
     }
+
+    @Test
+    void testBuildCondition_ignoresFieldsMissingFromFilterOrMapping() {
+        FilterDefinition<TestFilter> definition = new FilterDefinition<>(
+                "TestFilter",
+                TestFilter.class,
+                Map.of("missing", Set.of(FieldFilterType.EQ), "age", Set.of(FieldFilterType.EQ), "ageRange", Set.of()));
+        TestFilter filter = new TestFilter();
+        filter.age = 30;
+        filter.ageRange = new RangeFilter<>();
+        Condition condition = JooqFilterSupport.buildCondition(filter, definition, FIELD_MAPPING);
+        assertThat(condition.toString()).contains("age = 30").doesNotContain("missing");
+    }
+
+    @Test
+    void testBuildCondition_switchingDefinitionsForTheSameClass() {
+        FilterDefinition<TestFilter> nameOnly =
+                new FilterDefinition<>("NameOnly", TestFilter.class, Map.of("name", Set.of(FieldFilterType.EQ)));
+        TestFilter filter = new TestFilter();
+        filter.age = 25;
+        filter.name = "Alice";
+        assertThat(JooqFilterSupport.buildCondition(filter, nameOnly, FIELD_MAPPING)
+                        .toString())
+                .doesNotContain("age");
+        assertThat(JooqFilterSupport.buildCondition(filter, FILTER_DEFINITION, FIELD_MAPPING)
+                        .toString())
+                .contains("age = 25");
+    }
+
+    @Test
+    void testBuildCondition_withFieldMappingBuiltPerCall() {
+        TestFilter filter = new TestFilter();
+        filter.age = 25;
+        filter.name = "Alice";
+        assertThat(JooqFilterSupport.buildCondition(filter, FILTER_DEFINITION, Map.of("age", AGE_FIELD))
+                        .toString())
+                .contains("age = 25")
+                .doesNotContain("name");
+        assertThat(JooqFilterSupport.buildCondition(filter, FILTER_DEFINITION, Map.of("name", NAME_FIELD))
+                        .toString())
+                .contains("name = 'Alice'")
+                .doesNotContain("age");
+    }
+
+    @Test
+    void testBuildCondition_rendersFlatConjunction() {
+        TestFilter filter = new TestFilter();
+        filter.age = 25;
+        filter.name = "Alice";
+        String sql = DSL.using(SQLDialect.POSTGRES)
+                .renderInlined(JooqFilterSupport.buildCondition(filter, FILTER_DEFINITION, FIELD_MAPPING));
+        assertThat(sql).isIn("(age = 25 and name = 'Alice')", "(name = 'Alice' and age = 25)");
+    }
 }
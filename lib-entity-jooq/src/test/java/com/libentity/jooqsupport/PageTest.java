@@ -0,0 +1,61 @@
+package com.libentity.jooqsupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.tools.jdbc.MockConnection;
+import org.jooq.tools.jdbc.MockResult;
+import org.junit.jupiter.api.Test;
+
+public class PageTest {
+    private static final JooqEntityStoreTest.Users USERS = JooqEntityStoreTest.Users.USERS;
+    private static final Field<Integer> TOTAL = DSL.field(DSL.name("total_count"), Integer.class);
+
+    private final List<String> statements = new ArrayList<>();
+    private int rows;
+
+    private final DSLContext dsl = DSL.using(
+            new MockConnection(ctx -> {
+                statements.add(ctx.sql());
+                DSLContext create = DSL.using(SQLDialect.POSTGRES);
+                if (ctx.sql().startsWith("select count(*) from")) {
+                    var count = create.newResult(DSL.count());
+                    count.add(create.newRecord(DSL.count()).values(42));
+                    return new MockResult[] {new MockResult(1, count)};
+                }
+                var result = create.newResult(USERS.ID, USERS.NAME, TOTAL);
+                for (long id = 1; id <= rows; id++) {
+                    result.add(create.newRecord(USERS.ID, USERS.NAME, TOTAL).values(id, "user-" + id, 42));
+                }
+                return new MockResult[] {new MockResult(rows, result)};
+            }),
+            SQLDialect.POSTGRES);
+
+    @Test
+    void fetchesPageAndTotalInOneQuery() {
+        rows = 2;
+
+        Page<Record> page = Page.fetch(dsl, USERS, USERS.NAME.isNotNull(), List.of(USERS.ID.asc()), 2, 0);
+
+        assertThat(page.total()).isEqualTo(42);
+        assertThat(page.map(record -> record.get(USERS.NAME)).items()).containsExactly("user-1", "user-2");
+        assertThat(statements).singleElement().asString().contains("count(*) over ()");
+    }
+
+    @Test
+    void countsSeparatelyPastTheLastPage() {
+        rows = 0;
+
+        assertThat(Page.fetch(dsl, USERS, DSL.trueCondition(), List.of(), 10, 100))
+                .isEqualTo(new Page<>(List.of(), 42));
+        assertThat(Page.fetch(dsl, USERS, DSL.trueCondition(), List.of(), 10, 0).total())
+                .isZero();
+        assertThat(statements).hasSize(3);
+    }
+}
@@ -0,0 +1,100 @@
+package com.libentity.jooqsupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.List;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.SQLDialect;
+import org.jooq.SelectConditionStep;
+import org.jooq.SortField;
+import org.jooq.conf.ParamType;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.junit.jupiter.api.Test;
+
+public class SeekCursorTest {
+
+    private static final Field<LocalDate> DUE_DATE = DSL.field("due_date", SQLDataType.LOCALDATE.nullable(false));
+    private static final Field<LocalDate> PAID_ON = DSL.field("paid_on", SQLDataType.LOCALDATE);
+    private static final Field<Long> ID = DSL.field("id", SQLDataType.BIGINT.nullable(false));
+    private static final Field<String> NAME = DSL.field("name", String.class);
+
+    private static final List<Field<?>> FIELDS = List.of(DUE_DATE, ID);
+    private static final List<SortField<?>> ORDER = List.of(DUE_DATE.desc(), ID.desc());
+
+    private final DSLContext dsl = DSL.using(SQLDialect.POSTGRES);
+
+    @Test
+    void decodeRestoresTypedValues() {
+        String token = SeekCursor.of(LocalDate.of(2025, 3, 1), 42L).encode();
+
+        assertThat(SeekCursor.decode(token, FIELDS).values()).containsExactly(LocalDate.of(2025, 3, 1), 42L);
+        assertThat(SeekCursor.decode(SeekCursor.of(null, "a:b-c").encode(), List.of(DUE_DATE, NAME)))
+                .isEqualTo(SeekCursor.of(null, "a:b-c"));
+    }
+
+    @Test
+    void decodeRejectsMalformedTokens() {
+        assertThatThrownBy(() -> SeekCursor.decode("not base64!", FIELDS)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeekCursor.decode(SeekCursor.of(42L).encode(), FIELDS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Malformed cursor");
+    }
+
+    @Test
+    void seekStartsAfterTheCursorRow() {
+        String token = SeekCursor.of(LocalDate.of(2025, 3, 1), 42L).encode();
+
+        String firstPage = SeekCursor.seek(select(), ORDER, FIELDS, null, 20).getSQL(ParamType.INLINED);
+        String nextPage = SeekCursor.seek(select(), ORDER, FIELDS, token, 20).getSQL(ParamType.INLINED);
+
+        assertThat(firstPage).doesNotContain("2025").contains("order by due_date desc, id desc");
+        assertThat(nextPage)
+                .contains("(due_date, id) < (date '2025-03-01', 42)")
+                .endsWith("fetch next 20 rows only");
+    }
+
+    @Test
+    void seekKeepsRowsWithNullSortValues() {
+        List<Field<?>> fields = List.of(PAID_ON, ID);
+        List<SortField<?>> order = List.of(PAID_ON.asc(), ID.asc());
+
+        String afterValue = SeekCursor.seek(
+                        select(),
+                        order,
+                        fields,
+                        SeekCursor.of(LocalDate.of(2025, 3, 1), 42L).encode(),
+                        20)
+                .getSQL(ParamType.INLINED);
+        String afterNull = SeekCursor.seek(
+                        select(), order, fields, SeekCursor.of(null, 42L).encode(), 20)
+                .getSQL(ParamType.INLINED);
+
+        assertThat(afterValue)
+                .contains("order by paid_on asc nulls last, id asc")
+                .contains(
+                        "(paid_on > date '2025-03-01' or paid_on is null or (paid_on = date '2025-03-01' and id > 42))");
+        assertThat(afterNull).contains("(paid_on is null and id > 42)");
+    }
+
+    @Test
+    void requireSeekOrderAcceptsOnlyAPrefixOfTheSeekOrder() {
+        SeekCursor.requireSeekOrder(List.of(), ORDER);
+        SeekCursor.requireSeekOrder(List.of(DUE_DATE.desc()), ORDER);
+
+        assertThatThrownBy(() -> SeekCursor.requireSeekOrder(List.of(DUE_DATE.asc()), ORDER))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("cannot be combined with the sort");
+        assertThatThrownBy(() -> SeekCursor.requireSeekOrder(List.of(ID.desc()), ORDER))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // jOOQ select steps are mutable, every query gets its own
+    private SelectConditionStep<Record> select() {
+        return dsl.selectFrom(DSL.table("invoice")).where(NAME.eq("x"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.libentity.jooqsupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.conf.ParamType;
+import org.jooq.conf.Settings;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.Test;
+
+public class SqlShapeCacheTest {
+    private static final JooqEntityStoreTest.Users USERS = JooqEntityStoreTest.Users.USERS;
+
+    private final DSLContext dsl = DSL.using(SQLDialect.POSTGRES);
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @Test
+    void rendersOncePerShapeAndBindsValues() {
+        SqlShapeCache cache = new SqlShapeCache();
+
+        String first = cache.get(dsl, 0b11, () -> condition(1L, "a"));
+        String second = cache.get(dsl, 0b11, () -> condition(2L, "b"));
+        Condition cached = DSL.condition(second, DSL.val(2L, USERS.ID), DSL.val("b", USERS.NAME));
+
+        assertThat(renders).hasValue(1);
+        assertThat(second).isSameAs(first).isEqualTo("(\"users\".\"id\" > ? and \"users\".\"name\" = ?)");
+        assertThat(dsl.renderInlined(cached)).isEqualTo("((\"users\".\"id\" > 2 and \"users\".\"name\" = 'b'))");
+    }
+
+    @Test
+    void keepsShapesPerDialectAndSettings() {
+        SqlShapeCache cache = new SqlShapeCache();
+        DSLContext inlined = DSL.using(SQLDialect.POSTGRES, new Settings().withParamType(ParamType.INLINED));
+
+        cache.get(dsl, 1, () -> condition(1L, "a"));
+        cache.get(DSL.using(SQLDialect.MYSQL), 1, () -> condition(1L, "a"));
+
+        assertThat(cache.get(inlined, 1, () -> condition(1L, "a")))
+                .contains("?")
+                .doesNotContain("'a'");
+        assertThat(inlined.settings().getParamType()).isEqualTo(ParamType.INLINED);
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(renders).hasValue(3);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedShape() {
+        SqlShapeCache cache = new SqlShapeCache(2);
+
+        cache.get(dsl, 1, () -> condition(1L, "a"));
+        cache.get(dsl, 2, () -> condition(2L, "b"));
+        cache.get(dsl, 1, () -> condition(1L, "a"));
+        cache.get(dsl, 3, () -> condition(3L, "c"));
+        cache.get(dsl, 1, () -> condition(1L, "a"));
+        cache.get(dsl, 2, () -> condition(2L, "b"));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(renders).hasValue(4);
+        assertThatThrownBy(() -> new SqlShapeCache(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cachedConditionRendersTheOriginalForAnotherDialect() {
+        SqlShapeCache cache = new SqlShapeCache();
+        DSLContext mysql = DSL.using(SQLDialect.MYSQL);
+
+        Condition cached = cache.condition(
+                dsl, 0b11, () -> condition(1L, "a"), List.of(DSL.val(1L, USERS.ID), DSL.val("a", USERS.NAME)));
+
+        assertThat(dsl.renderInlined(cached)).isEqualTo("((\"users\".\"id\" > 1 and \"users\".\"name\" = 'a'))");
+        assertThat(renders).hasValue(1);
+        assertThat(mysql.renderInlined(cached)).isEqualTo("(`users`.`id` > 1 and `users`.`name` = 'a')");
+        assertThat(renders).hasValue(2);
+    }
+
+    private Condition condition(long id, String name) {
+        renders.incrementAndGet();
+        return DSL.and(USERS.ID.gt(id), USERS.NAME.eq(name));
+    }
+}
@@ -48,4 +48,185 @@ public class JooqFilterAnnotationProcessorTest {
                 javac().withProcessors(new JooqFilterAnnotationProcessor()).compile(List.of(filterSource));
         assertThat(compilation.errors()).isNotEmpty();
     }
+
+    @Test
+    void generatesSeekPaginationForUniqueKey() throws Exception {
+        JavaFileObject filterSource = forSourceString(
+                "com.example.OrderFilter",
+                """
+            package com.example;
+            import com.libentity.jooqsupport.annotation.*;
+            @JooqFilter(tableClass = \"OrderTable\", tableVar = \"ORDERS\", uniqueKey = \"id\",
+                    defaultSort = @JooqDefaultSort(field = \"dueDate\", direction = SortDirection.DESC))
+            public class OrderFilter {
+                @JooqFilterField(field = \"id\", comparators = {Comparator.EQ})
+                public Long id;
+            }
+            """);
+        var compilation = javac().withProcessors(new JooqFilterAnnotationProcessor())
+                .compile(List.of(orderTable(), filterSource));
+        assertThat(compilation.errors()).isEmpty();
+        String meta = compilation
+                .generatedSourceFile("com.example.OrderFilterJooqMeta")
+                .get()
+                .getCharContent(true)
+                .toString();
+        assertThat(meta)
+                .contains(
+                        "SEEK_ORDER = java.util.List.of(OrderTable.ORDERS.DUE_DATE.desc(), OrderTable.ORDERS.ID.desc())");
+        assertThat(meta).contains("return SeekCursor.seek(select, SEEK_ORDER, SEEK_FIELDS, cursor, pageSize)");
+        assertThat(meta).contains("OrderFilter filter, String cursor, int pageSize)");
+        assertThat(meta).contains("SeekCursor.requireSeekOrder(getSortFields(filter), SEEK_ORDER)");
+    }
+
+    @Test
+    void mapsRequestedSortsToWhitelistedFields() throws Exception {
+        JavaFileObject filterSource = forSourceString(
+                "com.example.OrderFilter",
+                """
+            package com.example;
+            import com.libentity.jooqsupport.SortRequest;
+            import com.libentity.jooqsupport.annotation.*;
+            import java.util.List;
+            @JooqFilter(tableClass = \"OrderTable\", tableVar = \"ORDERS\",
+                    defaultSort = @JooqDefaultSort(field = \"id\", direction = SortDirection.ASC),
+                    sortable = {@JooqSortable(field = \"dueDate\"), @JooqSortable(field = \"id\", name = \"number\")})
+            public class OrderFilter {
+                private List<SortRequest> sort;
+                public List<SortRequest> getSort() { return sort; }
+            }
+            """);
+        var compilation = javac().withProcessors(new JooqFilterAnnotationProcessor())
+                .compile(List.of(orderTable(), filterSource));
+        assertThat(compilation.errors()).isEmpty();
+        String meta = compilation
+                .generatedSourceFile("com.example.OrderFilterJooqMeta")
+                .get()
+                .getCharContent(true)
+                .toString();
+        assertThat(meta)
+                .contains("case \"dueDate\" -> sortFields.add(desc ? OrderTable.ORDERS.DUE_DATE.desc() : "
+                        + "OrderTable.ORDERS.DUE_DATE.asc())");
+        assertThat(meta).contains("case \"number\" -> sortFields.add(desc ? OrderTable.ORDERS.ID.desc()");
+        assertThat(meta).contains("return java.util.List.of(OrderTable.ORDERS.ID.asc())");
+    }
+
+    @Test
+    void failsOnSortableWithoutSortRequests() {
+        JavaFileObject filterSource = forSourceString(
+                "com.example.OrderFilter",
+                """
+            package com.example;
+            import com.libentity.jooqsupport.annotation.*;
+            @JooqFilter(tableClass = \"OrderTable\", tableVar = \"ORDERS\", sortable = @JooqSortable(field = \"id\"))
+            public class OrderFilter {}
+            """);
+        var compilation = javac().withProcessors(new JooqFilterAnnotationProcessor())
+                .compile(List.of(orderTable(), filterSource));
+        assertThat(compilation.errors()).hasSize(1);
+        assertThat(compilation.errors().get(0).getMessage(null))
+                .contains("@JooqFilter declares sortable fields but the filter has no List<SortRequest> field");
+    }
+
+    @Test
+    void generatesCountExistsAndFetchPageForJooqTables() throws Exception {
+        JavaFileObject tableSource = forSourceString(
+                "com.example.Tables",
+                """
+            package com.example;
+            import org.jooq.Record;
+            import org.jooq.TableField;
+            import org.jooq.impl.DSL;
+            import org.jooq.impl.SQLDataType;
+            import org.jooq.impl.TableImpl;
+            public class Tables {
+                public static final Orders ORDERS = new Orders();
+                public static class Orders extends TableImpl<Record> {
+                    public final TableField<Record, Long> ID = createField(DSL.name("id"), SQLDataType.BIGINT);
+                    Orders() { super(DSL.name("orders")); }
+                }
+            }
+            """);
+        JavaFileObject filterSource = forSourceString(
+                "com.example.OrderFilter",
+                """
+            package com.example;
+            import com.libentity.jooqsupport.annotation.*;
+            @JooqFilter(tableClass = \"Tables\", tableVar = \"ORDERS\",
+                    defaultSort = @JooqDefaultSort(field = \"id\", direction = SortDirection.ASC))
+            public class OrderFilter {
+                @JooqFilterField(field = \"id\", comparators = {Comparator.EQ})
+                public Long id;
+            }
+            """);
+        var compilation =
+                javac().withProcessors(new JooqFilterAnnotationProcessor()).compile(List.of(tableSource, filterSource));
+        assertThat(compilation.errors()).isEmpty();
+        String meta = compilation
+                .generatedSourceFile("com.example.OrderFilterJooqMeta")
+                .get()
+                .getCharContent(true)
+                .toString();
+        assertThat(meta).contains("java.util.List<org.jooq.Condition> conditions = new java.util.ArrayList<>(1)");
+        assertThat(meta).contains("return org.jooq.impl.DSL.and(conditions)");
+        assertThat(meta).contains("return dsl.fetchCount(Tables.ORDERS, toCachedCondition(dsl, filter))");
+        assertThat(meta).contains("return dsl.fetchExists(Tables.ORDERS, toCachedCondition(dsl, filter))");
+        assertThat(meta)
+                .contains("public static Page<Record> fetchPage(DSLContext dsl, OrderFilter filter, int limit,");
+    }
+
+    @Test
+    void generatesShapeCachedCondition() throws Exception {
+        JavaFileObject filterSource = forSourceString(
+                "com.example.OrderFilter",
+                """
+            package com.example;
+            import com.libentity.core.filter.RangeFilter;
+            import com.libentity.jooqsupport.annotation.*;
+            import java.util.Set;
+            @JooqFilter(tableClass = \"OrderTable\", tableVar = \"ORDERS\",
+                    defaultSort = @JooqDefaultSort(field = \"id\", direction = SortDirection.ASC))
+            public class OrderFilter {
+                @JooqFilterField(field = \"dueDate\", comparators = {Comparator.GT, Comparator.LT})
+                private RangeFilter<java.time.chrono.ChronoLocalDate> dueDate;
+                @JooqFilterField(field = \"id\", comparators = {Comparator.IN})
+                private Set<String> ids;
+                public RangeFilter<java.time.chrono.ChronoLocalDate> getDueDate() { return dueDate; }
+                public Set<String> getIds() { return ids; }
+            }
+            """);
+        var compilation = javac().withProcessors(new JooqFilterAnnotationProcessor())
+                .compile(List.of(orderTable(), filterSource));
+        assertThat(compilation.errors()).isEmpty();
+        String meta = compilation
+                .generatedSourceFile("com.example.OrderFilterJooqMeta")
+                .get()
+                .getCharContent(true)
+                .toString();
+        assertThat(meta).contains("shape |= 1L << 0");
+        assertThat(meta).contains("shape |= 1L << 4");
+        assertThat(meta).contains("if (filter.getIds() != null && !filter.getIds().isEmpty()) {\n      return -1L;");
+        assertThat(meta)
+                .contains(
+                        "binds.add(org.jooq.impl.DSL.val(filter.getDueDate().getLte().query(java.time.LocalDate::from), "
+                                + "OrderTable.ORDERS.DUE_DATE))");
+        assertThat(meta).contains("return SQL_SHAPES.condition(dsl, shape, () -> toCondition(filter), binds)");
+    }
+
+    private static JavaFileObject orderTable() {
+        return forSourceString(
+                "com.example.OrderTable",
+                """
+            package com.example;
+            import org.jooq.Field;
+            import org.jooq.impl.DSL;
+            public class OrderTable {
+                public static final Orders ORDERS = new Orders();
+                public static class Orders {
+                    public final Field<Long> ID = DSL.field("id", Long.class);
+                    public final Field<java.time.LocalDate> DUE_DATE = DSL.field("due_date", java.time.LocalDate.class);
+                }
+            }
+            """);
+    }
 }